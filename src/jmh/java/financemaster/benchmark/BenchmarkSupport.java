@@ -0,0 +1,93 @@
+package financemaster.benchmark;
+
+import financemaster.RestServiceApplication;
+import financemaster.persistence.entity.Category;
+import financemaster.persistence.entity.TransactionType;
+import financemaster.persistence.entity.User;
+import financemaster.persistence.repository.CategoryRepository;
+import financemaster.persistence.repository.TransactionBatchInserter;
+import financemaster.persistence.repository.UserRepository;
+import financemaster.service.SummaryRollupService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gemeinsame Hilfen für die Benchmarks: Spring-Kontext ohne Webserver auf einer
+ * eigenen H2-In-Memory-Datenbank starten und reproduzierbare Testdaten anlegen.
+ */
+final class BenchmarkSupport {
+
+    /** Erster Buchungstag der Testdaten; die Buchungen verteilen sich über drei Jahre. */
+    static final LocalDate FIRST_DAY = LocalDate.of(2022, 1, 1);
+    static final int DAYS = 3 * 365;
+    static final int CATEGORIES = 10;
+    static final String PASSWORD = "benchmark";
+
+    private static final int INSERT_CHUNK = 10_000;
+
+    private BenchmarkSupport() {}
+
+    /**
+     * Startet die Anwendung ohne Webserver. Die Argumente haben Vorrang vor application.properties.
+     */
+    static ConfigurableApplicationContext start(String dbName) {
+        return new SpringApplicationBuilder(RestServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + dbName + ";DB_CLOSE_DELAY=-1",
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.show-sql=false",
+                     "--rollups.maintenance=none",
+                     "--logging.level.root=WARN");
+    }
+
+    /**
+     * Legt einen User mit CATEGORIES Kategorien und "rows" Buchungen an
+     * (JDBC-Batch, feste Zufallsfolge) und baut danach die Monatssummen auf.
+     */
+    static Seeded seed(ConfigurableApplicationContext ctx, String email, int rows) {
+        User u = new User();
+        u.setName("Benchmark");
+        u.setEmail(email);
+        u.setPassword(ctx.getBean(PasswordEncoder.class).encode(PASSWORD));
+        u = ctx.getBean(UserRepository.class).save(u);
+
+        List<Long> categoryIds = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category c = new Category();
+            c.setName("Kategorie " + i);
+            c.setUser(u);
+            categoryIds.add(ctx.getBean(CategoryRepository.class).save(c).getId());
+        }
+
+        TransactionBatchInserter inserter = ctx.getBean(TransactionBatchInserter.class);
+        Random random = new Random(42);
+        List<TransactionBatchInserter.Row> chunk = new ArrayList<>(INSERT_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            boolean income = random.nextInt(5) == 0;
+            chunk.add(new TransactionBatchInserter.Row(u.getId(),
+                    categoryIds.get(random.nextInt(CATEGORIES)),
+                    income ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    1 + random.nextInt(income ? 500_000 : 20_000),
+                    "Buchung " + i,
+                    FIRST_DAY.plusDays(random.nextInt(DAYS))));
+            if (chunk.size() == INSERT_CHUNK) {
+                inserter.insertAll(chunk, 1_000);
+                chunk.clear();
+            }
+        }
+        inserter.insertAll(chunk, 1_000);
+        ctx.getBean(SummaryRollupService.class).verify(true);
+
+        return new Seeded(u.getId(), categoryIds.getFirst());
+    }
+
+    record Seeded(Long userId, Long categoryId) {}
+}
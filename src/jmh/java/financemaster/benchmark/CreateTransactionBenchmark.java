@@ -0,0 +1,43 @@
+package financemaster.benchmark;
+
+import financemaster.dto.TransactionDto;
+import financemaster.persistence.entity.Transaction;
+import financemaster.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durchsatz von createTransaction (Kategorie-Prüfung, INSERT, Monatssumme, Cache-Invalidierung).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CreateTransactionBenchmark {
+
+    private ConfigurableApplicationContext ctx;
+    private TransactionService service;
+    private BenchmarkSupport.Seeded data;
+    private TransactionDto dto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkSupport.start("create");
+        service = ctx.getBean(TransactionService.class);
+        data = BenchmarkSupport.seed(ctx, "create@bench.de", 1_000);
+        dto = new TransactionDto("Benchmark", new BigDecimal("12.34"), "EXPENSE", data.categoryId(),
+                BenchmarkSupport.FIRST_DAY.plusDays(100));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public Transaction create() {
+        return service.createTransaction(data.userId(), dto);
+    }
+}
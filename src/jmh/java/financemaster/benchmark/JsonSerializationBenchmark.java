@@ -0,0 +1,135 @@
+package financemaster.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import financemaster.dto.CompactTransactionList;
+import financemaster.dto.TransactionView;
+import financemaster.persistence.entity.Category;
+import financemaster.persistence.entity.Transaction;
+import financemaster.persistence.entity.TransactionType;
+import financemaster.persistence.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson-Serialisierung von Transaktionslisten: Entities (mit verschachtelter Kategorie und User)
+ * im Vergleich zur flachen Projektion TransactionView und zum kompakten Format
+ * (CompactTransactionList), jeweils als JSON bzw. CBOR, optional mit gzip wie bei server.compression.
+ * Die Payload-Größen in Bytes werden beim Setup ausgegeben. Läuft ohne Spring-Kontext.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    /** Entspricht den Spring-Boot-Standards (Java-Time-Modul, Datum als ISO-String). */
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper cborMapper = CBORMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private List<Transaction> entities;
+    private List<TransactionView> views;
+    private CompactTransactionList compact;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Benchmark");
+        user.setEmail("json@bench.de");
+        user.setPassword("hash");
+
+        entities = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Category c = new Category();
+            c.setId((long) (i % BenchmarkSupport.CATEGORIES));
+            c.setName("Kategorie " + c.getId());
+            c.setUser(user);
+
+            Transaction t = new Transaction();
+            t.setId((long) i);
+            t.setType(i % 5 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            t.setAmountMinor(1_000 + i);
+            t.setDescription("Buchung " + i);
+            t.setDate(BenchmarkSupport.FIRST_DAY.plusDays(i % BenchmarkSupport.DAYS));
+            t.setCategory(c);
+            t.setUser(user);
+            entities.add(t);
+
+            views.add(new TransactionView(t.getId(), t.getDate(), t.getAmountMinor(), t.getType(),
+                    t.getDescription(), c.getId(), c.getName()));
+        }
+        compact = CompactTransactionList.of(views, null);
+
+        try {
+            System.out.printf("%nPayload-Größen für %d Zeilen (Bytes): entities=%d, views=%d, compact=%d, " +
+                              "cbor(views)=%d, cbor(compact)=%d, gzip(views)=%d, gzip(compact)=%d%n",
+                    size, entities().length, views().length, compactJson().length,
+                    cborViews().length, cborCompact().length, gzipViews().length, gzipCompact().length);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        return mapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] views() throws Exception {
+        return mapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] compactJson() throws Exception {
+        return mapper.writeValueAsBytes(compact);
+    }
+
+    @Benchmark
+    public byte[] cborViews() throws Exception {
+        return cborMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] cborCompact() throws Exception {
+        return cborMapper.writeValueAsBytes(compact);
+    }
+
+    /** JSON + gzip: Serialisierung plus Kompressionskosten, wie sie der Server zusätzlich trägt. */
+    @Benchmark
+    public byte[] gzipViews() throws Exception {
+        return gzip(mapper, views);
+    }
+
+    @Benchmark
+    public byte[] gzipCompact() throws Exception {
+        return gzip(mapper, compact);
+    }
+
+    private static byte[] gzip(ObjectMapper mapper, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
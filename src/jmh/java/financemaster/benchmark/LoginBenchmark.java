@@ -0,0 +1,49 @@
+package financemaster.benchmark;
+
+import financemaster.persistence.entity.User;
+import financemaster.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kosten des Logins: der reine BCrypt-Vergleich des konfigurierten PasswordEncoders
+ * und AuthService.login inklusive User-Abfrage und Session-Anlage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoginBenchmark {
+
+    private ConfigurableApplicationContext ctx;
+    private AuthService authService;
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkSupport.start("login");
+        authService = ctx.getBean(AuthService.class);
+        encoder = ctx.getBean(PasswordEncoder.class);
+        BenchmarkSupport.seed(ctx, "login@bench.de", 0);
+        hash = encoder.encode(BenchmarkSupport.PASSWORD);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public boolean passwordMatches() {
+        return encoder.matches(BenchmarkSupport.PASSWORD, hash);
+    }
+
+    @Benchmark
+    public User login() {
+        return authService.login("login@bench.de", BenchmarkSupport.PASSWORD, new MockHttpServletRequest());
+    }
+}
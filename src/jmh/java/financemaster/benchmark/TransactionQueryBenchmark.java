@@ -0,0 +1,68 @@
+package financemaster.benchmark;
+
+import financemaster.dto.TransactionView;
+import financemaster.service.SummaryCache;
+import financemaster.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lesende Hot Paths des TransactionService über unterschiedlich große Datenbestände.
+ * Die Listen-Benchmarks lesen einen Monat (bei 1M Zeilen rund 27k Buchungen),
+ * die Summen werden einmal ohne und einmal mit Cache gemessen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransactionQueryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext ctx;
+    private TransactionService service;
+    private SummaryCache summaryCache;
+    private BenchmarkSupport.Seeded data;
+
+    private final LocalDate from = BenchmarkSupport.FIRST_DAY.plusMonths(6);
+    private final LocalDate to = from.plusMonths(1).minusDays(1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkSupport.start("query" + rows);
+        service = ctx.getBean(TransactionService.class);
+        summaryCache = ctx.getBean(SummaryCache.class);
+        data = BenchmarkSupport.seed(ctx, "query@bench.de", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public List<TransactionView> filteredByMonth() {
+        return service.getFilteredTransactions(data.userId(), null, from, to);
+    }
+
+    @Benchmark
+    public List<TransactionView> filteredByCategoryAndMonth() {
+        return service.getFilteredTransactions(data.userId(), data.categoryId(), from, to);
+    }
+
+    @Benchmark
+    public Map<String, Object> summaryUncached() {
+        summaryCache.invalidateUser(data.userId());
+        return service.getFinancialSummary(data.userId(), null, from.plusDays(10), to.plusMonths(5));
+    }
+
+    @Benchmark
+    public Map<String, Object> summaryCached() {
+        return service.getFinancialSummary(data.userId(), null, from.plusDays(10), to.plusMonths(5));
+    }
+}
@@ -0,0 +1,131 @@
+package financemaster.loadtest;
+
+import financemaster.RestServiceApplication;
+import financemaster.persistence.entity.TransactionType;
+import financemaster.persistence.entity.User;
+import financemaster.persistence.repository.TransactionBatchInserter;
+import financemaster.service.SummaryRollupService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Erzeugt synthetische Daten: N Nutzer x M Kategorien x K Buchungen.
+ * * Geschrieben wird direkt per JDBC-Batch (nicht über die REST-API), Nutzer und Kategorien
+ * ebenfalls gesammelt; die Monatssummen werden am Ende einmal aus den Rohdaten aufgebaut.
+ * * Verteilungen:
+ * - Gehalt als Einnahme am Monatsersten (um 3000 EUR), der Rest sind Ausgaben
+ * - Ausgabenbeträge log-normalverteilt (Median ca. 25 EUR, vereinzelt einige hundert)
+ * - Kategorien ungleich genutzt (die ersten Kategorien deutlich häufiger)
+ * - Buchungsdaten gleichverteilt über die letzten "months" Monate
+ * * Eigenständig: ./gradlew seedData -Ploadtest.jdbcUrl=jdbc:postgresql://localhost:5432/financemaster
+ * Die Tabellen legt Hibernate beim Start an (ddl-auto=update).
+ */
+public final class DataGenerator {
+
+    private static final int CHUNK = 10_000;
+    private static final int BATCH = 1_000;
+
+    private DataGenerator() {}
+
+    public static void main(String[] args) {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(RestServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + config.jdbcUrl(),
+                     "--spring.datasource.username=" + config.jdbcUser(),
+                     "--spring.datasource.password=" + config.jdbcPassword(),
+                     "--spring.jpa.show-sql=false",
+                     "--rollups.maintenance=none",
+                     "--logging.level.root=WARN")) {
+            seed(ctx, config);
+        }
+    }
+
+    /**
+     * Schreibt die Daten in die Datenbank des übergebenen Kontexts.
+     */
+    static void seed(ConfigurableApplicationContext ctx, LoadTestConfig config) {
+        JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+        if (!jdbc.queryForList("SELECT id FROM users WHERE email = ?", Long.class, LoadTestConfig.email(0)).isEmpty()) {
+            System.out.println("Testdaten sind bereits vorhanden, überspringe Generierung.");
+            return;
+        }
+        long started = System.nanoTime();
+
+        // Ein Hash für alle: BCrypt pro Nutzer würde die Generierung dominieren
+        String hash = ctx.getBean(PasswordEncoder.class).encode(LoadTestConfig.PASSWORD);
+        List<Object[]> users = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            String email = LoadTestConfig.email(i);
+            users.add(new Object[] { "Load " + i, email, User.normalizeEmail(email), hash });
+        }
+        jdbc.batchUpdate("INSERT INTO users (name, email, email_normalized, password) VALUES (?, ?, ?, ?)", users);
+        List<Long> userIds = jdbc.queryForList(
+                "SELECT id FROM users WHERE email LIKE 'load%@loadtest.local' ORDER BY id", Long.class);
+
+        List<Object[]> categories = new ArrayList<>(userIds.size() * config.categories());
+        for (Long userId : userIds) {
+            for (int c = 0; c < config.categories(); c++) {
+                categories.add(new Object[] { "Kategorie " + c, "generiert", userId });
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO categories (name, description, user_id) VALUES (?, ?, ?)", categories);
+        Map<Long, List<Long>> categoriesByUser = new HashMap<>();
+        jdbc.query("SELECT c.id, c.user_id FROM categories c JOIN users u ON u.id = c.user_id " +
+                   "WHERE u.email LIKE 'load%@loadtest.local' ORDER BY c.id",
+                rs -> { categoriesByUser.computeIfAbsent(rs.getLong(2), k -> new ArrayList<>()).add(rs.getLong(1)); });
+
+        TransactionBatchInserter inserter = ctx.getBean(TransactionBatchInserter.class);
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDate today = LocalDate.now();
+        LocalDate start = today.minusMonths(config.months()).withDayOfMonth(1);
+        int days = (int) (today.toEpochDay() - start.toEpochDay()) + 1;
+
+        List<TransactionBatchInserter.Row> chunk = new ArrayList<>(CHUNK);
+        long total = 0;
+        for (Long userId : userIds) {
+            List<Long> cats = categoriesByUser.get(userId);
+            int salaries = Math.min(config.transactions(), config.months() + 1);
+            for (int m = 0; m < salaries; m++) {
+                long salary = Math.max(100_000, Math.round((3000 + 600 * gaussian(random)) * 100));
+                chunk.add(new TransactionBatchInserter.Row(userId, cats.getFirst(), TransactionType.INCOME,
+                        salary, "Gehalt", start.plusMonths(m)));
+            }
+            for (int i = salaries; i < config.transactions(); i++) {
+                // Median 25 EUR, sigma 1.0 -> 95 % zwischen ca. 3.50 und 180 EUR
+                long amount = Math.clamp(Math.round(Math.exp(Math.log(2500) + gaussian(random))), 50, 500_000);
+                // Quadrierte Gleichverteilung: niedrige Indizes (z.B. Lebensmittel) häufiger
+                double u = random.nextDouble();
+                Long category = cats.get((int) (u * u * cats.size()));
+                chunk.add(new TransactionBatchInserter.Row(userId, category, TransactionType.EXPENSE,
+                        amount, "Ausgabe " + i, start.plusDays(random.nextInt(days))));
+                if (chunk.size() >= CHUNK) {
+                    inserter.insertAll(chunk, BATCH);
+                    total += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        inserter.insertAll(chunk, BATCH);
+        total += chunk.size();
+        ctx.getBean(SummaryRollupService.class).verify(true);
+
+        System.out.printf("%d Nutzer, %d Kategorien, %d Buchungen in %d ms generiert%n",
+                userIds.size(), categories.size(), total, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Standardnormalverteilte Zufallszahl (Box-Muller). */
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,65 @@
+package financemaster.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sammelt Antwortzeiten pro Endpunkt und berechnet daraus Durchsatz und Perzentile.
+ * Jede Messung wird gespeichert (kein Histogramm-Bucket), für einen Lauf von einigen
+ * Minuten sind das nur wenige MB.
+ */
+final class LatencyRecorder {
+
+    /** Kennzahlen eines Endpunkts; Zeiten in Millisekunden. */
+    record Stats(long requests, long errors, double throughput, double p50, double p95, double p99, double max) {}
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long duration, boolean ok) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = duration;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Stats stats(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Stats(size, errors, size / seconds,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    size == 0 ? 0 : sorted[size - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, int p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long durationNanos, boolean ok) {
+        samples.computeIfAbsent(endpoint, k -> new Samples()).add(durationNanos, ok);
+    }
+
+    /**
+     * Auswertung pro Endpunkt, alphabetisch sortiert.
+     * @param seconds Messdauer für die Durchsatzberechnung
+     */
+    Map<String, Stats> summarize(double seconds) {
+        Map<String, Stats> result = new TreeMap<>();
+        samples.forEach((endpoint, s) -> result.put(endpoint, s.stats(seconds)));
+        return result;
+    }
+}
@@ -0,0 +1,172 @@
+package financemaster.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lasttreiber: Jeder virtuelle Nutzer läuft in einem eigenen virtuellen Thread, meldet sich
+ * über /auth/login an, behält sein Session-Cookie und ruft bis zum Ende der Laufzeit
+ * zufällig (nach loadtest.mix gewichtet) Liste, Summe, Anlegen oder Löschen auf.
+ * Gemessen wird pro Endpunkt die Zeit bis zur vollständig gelesenen Antwort.
+ */
+final class LoadDriver {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    LoadDriver(String baseUrl, LoadTestConfig config) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.config = config;
+    }
+
+    /**
+     * Führt den Lauf aus und liefert die Auswertung pro Endpunkt.
+     */
+    Map<String, LatencyRecorder.Stats> run() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(config.durationSeconds()).toNanos();
+        long started = System.nanoTime();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concurrency(); i++) {
+                int userIndex = i % config.users();
+                long seed = i;
+                users.submit(() -> new VirtualUser(userIndex, seed).run(deadline));
+            }
+        }
+        return recorder.summarize((System.nanoTime() - started) / 1e9);
+    }
+
+    /**
+     * Ein angemeldeter Nutzer mit eigenem Session-Cookie.
+     */
+    private final class VirtualUser {
+        private final int userIndex;
+        private final SplittableRandom random;
+        private final Deque<Long> created = new ArrayDeque<>();
+        private final List<Long> categoryIds = new ArrayList<>();
+        private String cookie;
+
+        VirtualUser(int userIndex, long seed) {
+            this.userIndex = userIndex;
+            this.random = new SplittableRandom(seed);
+        }
+
+        void run(long deadline) {
+            try {
+                login();
+                HttpResponse<String> cats = send("GET /categories", request("/categories").GET());
+                Matcher m = ID.matcher(cats.body());
+                while (m.find()) {
+                    categoryIds.add(Long.parseLong(m.group(1)));
+                }
+                while (System.nanoTime() < deadline) {
+                    try {
+                        step();
+                    } catch (IOException e) {
+                        recorder.record("connection error", 0, false);
+                    }
+                }
+            } catch (IOException e) {
+                recorder.record("login failed", 0, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void login() throws IOException, InterruptedException {
+            String body = "{\"email\":\"" + LoadTestConfig.email(userIndex) + "\",\"password\":\"" + LoadTestConfig.PASSWORD + "\"}";
+            HttpResponse<String> res = send("POST /auth/login", request("/auth/login")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            res.headers().allValues("Set-Cookie").stream()
+                    .map(c -> c.split(";", 2)[0])
+                    .filter(c -> c.startsWith("JSESSIONID=") || c.startsWith("SESSION="))
+                    .findFirst()
+                    .ifPresent(c -> cookie = c);
+        }
+
+        private void step() throws IOException, InterruptedException {
+            LocalDate month = LocalDate.now().withDayOfMonth(1).minusMonths(random.nextInt(Math.max(1, config.months())));
+            String range = "?from=" + month + "&to=" + month.plusMonths(1).minusDays(1);
+            switch (pick()) {
+                case "list" -> send("GET /transactions", request("/transactions" + range).GET());
+                case "summary" -> send("GET /transactions/summary/balance", request("/transactions/summary/balance" + range).GET());
+                case "delete" -> {
+                    Long id = created.pollFirst();
+                    if (id == null) {
+                        create(month);
+                    } else {
+                        send("DELETE /transactions/{id}", request("/transactions/" + id).DELETE());
+                    }
+                }
+                default -> create(month);
+            }
+        }
+
+        private void create(LocalDate month) throws IOException, InterruptedException {
+            if (categoryIds.isEmpty()) {
+                return;
+            }
+            String body = "{\"description\":\"Last\",\"amount\":" + (1 + random.nextInt(200)) + ".50,\"type\":\"EXPENSE\"," +
+                    "\"categoryId\":" + categoryIds.get(random.nextInt(categoryIds.size())) + "," +
+                    "\"date\":\"" + month.plusDays(random.nextInt(28)) + "\"}";
+            HttpResponse<String> res = send("POST /transactions", request("/transactions")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+            Matcher m = ID.matcher(res.body());
+            if (res.statusCode() == 200 && m.find()) {
+                created.addLast(Long.parseLong(m.group(1)));
+            }
+        }
+
+        private String pick() {
+            int total = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+            int r = random.nextInt(total);
+            for (Map.Entry<String, Integer> e : config.mix().entrySet()) {
+                r -= e.getValue();
+                if (r < 0) {
+                    return e.getKey();
+                }
+            }
+            return "list";
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+            if (cookie != null) {
+                b.header("Cookie", cookie);
+            }
+            return b;
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest.Builder request)
+                throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<String> res = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, res.statusCode() < 400);
+            return res;
+        }
+    }
+}
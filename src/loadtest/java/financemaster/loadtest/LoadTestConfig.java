@@ -0,0 +1,65 @@
+package financemaster.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Einstellungen für Datengenerator und Lasttreiber, gelesen aus System-Properties
+ * (Gradle reicht -Ploadtest.xyz=... als System-Property weiter).
+ *
+ * @param users        Anzahl generierter Nutzer
+ * @param categories   Kategorien pro Nutzer
+ * @param transactions Buchungen pro Nutzer
+ * @param months       Zeitraum der Buchungen (Monate rückwärts ab heute)
+ * @param concurrency  gleichzeitige virtuelle Nutzer des Lasttreibers
+ * @param durationSeconds Laufzeit des Lasttreibers
+ * @param mix          Gewichtung der Aufrufe (list, summary, create, delete)
+ * @param baseUrl      Ziel des Lasttreibers; leer = Anwendung im selben Prozess starten
+ * @param jdbcUrl      Datenbank für den Generator (nur seedData)
+ * @param appArgs      zusätzliche Spring-Argumente für die eingebettete Anwendung
+ * @param label        Name der Ergebnisdatei unter build/reports/loadtest/
+ */
+record LoadTestConfig(int users, int categories, int transactions, int months,
+                      int concurrency, int durationSeconds, Map<String, Integer> mix,
+                      String baseUrl, String jdbcUrl, String jdbcUser, String jdbcPassword,
+                      List<String> appArgs, String label) {
+
+    static final String PASSWORD = "loadtest";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.categories", 8),
+                Integer.getInteger("loadtest.transactions", 2_000),
+                Integer.getInteger("loadtest.months", 24),
+                Integer.getInteger("loadtest.concurrency", 200),
+                Integer.getInteger("loadtest.duration", 60),
+                parseMix(System.getProperty("loadtest.mix", "list=50,summary=30,create=15,delete=5")),
+                System.getProperty("loadtest.baseUrl", ""),
+                System.getProperty("loadtest.jdbcUrl", "jdbc:h2:file:./build/loadtest/financemaster"),
+                System.getProperty("loadtest.jdbcUser", "sa"),
+                System.getProperty("loadtest.jdbcPassword", ""),
+                System.getProperty("loadtest.appArgs", "").isBlank() ? List.of()
+                        : Arrays.stream(System.getProperty("loadtest.appArgs").split(",")).map(String::trim).toList(),
+                System.getProperty("loadtest.label", "results"));
+    }
+
+    /** E-Mail des i-ten generierten Nutzers. */
+    static String email(int i) {
+        return "load" + i + "@loadtest.local";
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix erwartet z.B. list=50,summary=30,create=15,delete=5");
+            }
+            weights.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+        }
+        return weights;
+    }
+}
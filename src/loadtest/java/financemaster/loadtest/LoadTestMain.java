@@ -0,0 +1,83 @@
+package financemaster.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import financemaster.RestServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Einstieg für ./gradlew loadTest.
+ * Ohne loadtest.baseUrl wird die Anwendung im selben Prozess auf einem freien Port mit
+ * einer H2-In-Memory-Datenbank gestartet und mit dem DataGenerator befüllt; es werden
+ * keine externen Dienste benötigt. Mit loadtest.baseUrl wird eine bereits laufende
+ * (und befüllte) Instanz getestet.
+ * * Beispiel: ./gradlew loadTest -Ploadtest.concurrency=500 -Ploadtest.duration=120
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext ctx = null;
+        String baseUrl = config.baseUrl();
+        try {
+            if (baseUrl.isBlank()) {
+                ctx = startApp(config);
+                DataGenerator.seed(ctx, config);
+                baseUrl = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            }
+            System.out.printf("Lasttest gegen %s: %d virtuelle Nutzer, %d s, Mix %s%n",
+                    baseUrl, config.concurrency(), config.durationSeconds(), config.mix());
+
+            Map<String, LatencyRecorder.Stats> stats = new LoadDriver(baseUrl, config).run();
+            print(stats);
+            write(config, stats);
+        } finally {
+            if (ctx != null) {
+                ctx.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApp(LoadTestConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--server.address=127.0.0.1",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--rollups.maintenance=none",
+                "--logging.level.root=WARN"));
+        config.appArgs().forEach(a -> args.add(a.startsWith("--") ? a : "--" + a));
+        return new SpringApplicationBuilder(RestServiceApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static void print(Map<String, LatencyRecorder.Stats> stats) {
+        System.out.printf("%n%-36s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpunkt", "Anfragen", "Fehler", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        stats.forEach((endpoint, s) -> System.out.printf("%-36s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max()));
+    }
+
+    private static void write(LoadTestConfig config, Map<String, LatencyRecorder.Stats> stats) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("concurrency", config.concurrency());
+        report.put("durationSeconds", config.durationSeconds());
+        report.put("mix", config.mix());
+        report.put("appArgs", config.appArgs());
+        report.put("endpoints", stats);
+
+        Path file = Path.of("build", "reports", "loadtest", config.label() + ".json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.println("\nErgebnis: " + file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,129 @@
+package financemaster.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zugangskontrolle vor dem Connection-Pool.
+ * * Eine faire Semaphore mit so vielen Plätzen wie der Pool Verbindungen hat: Wer eine Verbindung
+ * will, reiht sich hier ein (FIFO) statt direkt im Pool zu warten. Dadurch gilt:
+ * - Die Warteschlange ist begrenzt (maxWaiting); ist sie voll, wird sofort abgelehnt.
+ * - Gewartet wird höchstens "timeout" statt der 30 s connection-timeout des Pools.
+ * In beiden Fällen fliegt eine DatabaseBusyException, die als 503 mit Retry-After beantwortet wird.
+ * Gerade mit virtuellen Threads, bei denen tausende Anfragen gleichzeitig laufen können,
+ * verhindert das, dass sich alle am Pool stauen und gemeinsam in Timeouts laufen.
+ * * Der Platz wird beim close() der Verbindung wieder freigegeben.
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long timeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdmissionControlledDataSource(DataSource target, int permits, int maxWaiting, Duration timeout) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guard(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guard(() -> super.getConnection(username, password));
+    }
+
+    /** Anzahl Threads, die gerade auf eine Verbindung warten. */
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    /** Anzahl sofort verfügbarer Plätze. */
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    /** Anzahl abgelehnter Anfragen seit dem Start. */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            // Nicht tryAcquire() ohne Zeit: Das drängelt sich auch beim fairen Semaphore an der Warteschlange vorbei
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            if (waiting.incrementAndGet() > maxWaiting) {
+                waiting.decrementAndGet();
+                rejected.incrementAndGet();
+                throw new DatabaseBusyException("Zu viele gleichzeitige Anfragen, Warteschlange voll.");
+            }
+            try {
+                if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    rejected.incrementAndGet();
+                    throw new DatabaseBusyException("Keine Datenbankverbindung innerhalb der Wartezeit frei.");
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Warten auf Datenbankverbindung unterbrochen", e);
+        }
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Holt die Verbindung aus dem Pool und gibt den Platz beim ersten close() wieder frei.
+     * Schlägt das Holen fehl, wird der Platz sofort zurückgegeben.
+     */
+    private Connection guard(ConnectionSupplier supplier) throws SQLException {
+        Connection target;
+        try {
+            target = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            target.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,101 @@
+package financemaster.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Führt Hash-Berechnung und Passwortvergleich auf einem eigenen, begrenzten Thread-Pool aus.
+ * * Hintergrund: BCrypt ist absichtlich CPU-teuer. Ohne Begrenzung kann eine Welle von Logins
+ * alle Request-Threads bzw. CPU-Kerne belegen, sodass auch einfache Abfragen warten.
+ * Hier rechnen höchstens "threads" Hashes gleichzeitig, weitere warten in einer Warteschlange
+ * fester Größe. Ist sie voll oder dauert es länger als "timeout", folgt HashingBusyException (503).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Liest nur die Kosten aus dem gespeicherten Hash, daher ohne Executor.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /** Aufträge in der Warteschlange (für Metriken). */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    /** Gerade laufende Hash-Berechnungen (für Metriken). */
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Wird von Spring beim Herunterfahren aufgerufen (Destroy-Methode per Namenskonvention).
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingBusyException("Zu viele Anmeldungen gleichzeitig, bitte gleich erneut versuchen.");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HashingBusyException("Zu viele Anmeldungen gleichzeitig, bitte gleich erneut versuchen.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingBusyException("Anmeldung abgebrochen.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
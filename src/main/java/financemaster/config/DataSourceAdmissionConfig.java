@@ -0,0 +1,72 @@
+package financemaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Legt AdmissionControlledDataSource um jeden Connection-Pool (Hikari), also um die DataSource
+ * aus der Spring-Boot-Autokonfiguration bzw. mit Lese-Replikat um beide Pools (ReadReplicaConfig).
+ * Die Anzahl der Plätze entspricht der jeweiligen Poolgröße (Hikari maximum-pool-size).
+ * * Einstellungen:
+ * - datasource.admission.enabled (Standard true)
+ * - datasource.admission.max-waiting: maximale Warteschlange
+ * - datasource.admission.timeout: maximale Wartezeit auf eine Verbindung
+ */
+@Configuration
+public class DataSourceAdmissionConfig {
+
+    /**
+     * static, damit der Post-Processor früh und ohne diese Konfigurationsklasse erzeugt werden kann.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceAdmissionPostProcessor(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)
+                        || !env.getProperty("datasource.admission.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                return new AdmissionControlledDataSource(hikari, hikari.getMaximumPoolSize(),
+                        env.getProperty("datasource.admission.max-waiting", Integer.class, 200),
+                        env.getProperty("datasource.admission.timeout", Duration.class, Duration.ofSeconds(5)));
+            }
+        };
+    }
+
+    /**
+     * Metriken der Zugangskontrolle: datasource.admission.waiting / .available / .rejected
+     * (ergänzend zu den Hikari-Metriken hikaricp.connections.*), Tag pool = Name des Hikari-Pools.
+     */
+    @Bean
+    public MeterBinder dataSourceAdmissionMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((beanName, dataSource) -> {
+            if (dataSource instanceof AdmissionControlledDataSource ds) {
+                String pool = ds.getTargetDataSource() instanceof HikariDataSource hikari && hikari.getPoolName() != null
+                        ? hikari.getPoolName() : beanName;
+                Gauge.builder("datasource.admission.waiting", ds, AdmissionControlledDataSource::getWaiting)
+                        .description("Anfragen, die auf eine Datenbankverbindung warten")
+                        .tag("pool", pool)
+                        .register(registry);
+                Gauge.builder("datasource.admission.available", ds, AdmissionControlledDataSource::getAvailable)
+                        .description("Sofort verfügbare Verbindungsplätze")
+                        .tag("pool", pool)
+                        .register(registry);
+                FunctionCounter.builder("datasource.admission.rejected", ds, AdmissionControlledDataSource::getRejected)
+                        .description("Mit 503 abgelehnte Anfragen (Warteschlange voll oder Timeout)")
+                        .tag("pool", pool)
+                        .register(registry);
+            }
+        });
+    }
+}
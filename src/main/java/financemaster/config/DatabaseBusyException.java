@@ -0,0 +1,12 @@
+package financemaster.config;
+
+/**
+ * Es war innerhalb der Wartezeit keine Datenbankverbindung frei oder die Warteschlange ist voll.
+ * Wird als 503 mit Retry-After beantwortet (siehe ApiExceptionHandler).
+ */
+public class DatabaseBusyException extends RuntimeException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package financemaster.config;
+
+/**
+ * Der Executor für Passwort-Hashing ist ausgelastet (Warteschlange voll oder Timeout).
+ * Wird wie DatabaseBusyException als 503 mit Retry-After beantwortet (siehe ApiExceptionHandler).
+ */
+public class HashingBusyException extends RuntimeException {
+
+    public HashingBusyException(String message) {
+        super(message);
+    }
+}
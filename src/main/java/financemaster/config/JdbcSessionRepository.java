@@ -0,0 +1,341 @@
+package financemaster.config;
+
+import financemaster.dto.SessionUser;
+import financemaster.service.SessionUsers;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Session-Speicher in der Tabelle http_sessions, damit mehrere Instanzen hinter einem
+ * Load-Balancer dieselben Sessions sehen und ein Neustart niemanden abmeldet.
+ * * Kompakte Ablage: userId, Profil (SessionUser) und der Zeitpunkt des letzten Schreibzugriffs
+ * (ReadYourWritesInterceptor) stehen in eigenen Spalten, nur sonstige Attribute werden (falls
+ * vorhanden) per Java-Serialisierung in "extra" abgelegt. Ein schreibender Request ändert damit
+ * nur last_write und last_access, ohne "extra" neu zu serialisieren.
+ * * Schreiben nur bei Änderung: Ein Request, der die Session nur liest, schreibt nichts;
+ * der Zeitpunkt des letzten Zugriffs (und damit das Ablaufdatum) wird höchstens alle
+ * "touchInterval" aktualisiert. Attribute sollten daher unveränderliche Werte sein
+ * (Änderungen werden über setAttribute mit neuem Wert erkannt).
+ * * Abgelaufene Sessions entfernt deleteExpired() in Blöcken (siehe SessionStoreConfig).
+ */
+public class JdbcSessionRepository implements SessionRepository<JdbcSessionRepository.StoredSession> {
+
+    private static final String COLUMNS =
+            "id, created_at, last_access, max_inactive, expires_at, user_id, user_name, user_email, last_write, extra";
+
+    /** Attribute mit eigener Spalte, alle anderen landen in "extra". */
+    private static final Set<String> COLUMN_ATTRIBUTES =
+            Set.of(SessionUsers.USER_ID, SessionUsers.PROFILE, ReadYourWritesInterceptor.LAST_WRITE);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final Duration defaultMaxInactive;
+    private final long touchIntervalMillis;
+    private final int cleanupBatchSize;
+
+    public JdbcSessionRepository(DataSource dataSource, Duration defaultMaxInactive,
+                                 Duration touchInterval, int cleanupBatchSize) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.defaultMaxInactive = defaultMaxInactive;
+        this.touchIntervalMillis = touchInterval.toMillis();
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    /**
+     * Legt Tabelle und Index an, falls sie fehlen (H2 und Postgres).
+     * Läuft über eine eigene Verbindung, damit das DDL keine laufende Transaktion festschreibt.
+     */
+    public void createTable() {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS http_sessions (" +
+                       "id VARCHAR(64) PRIMARY KEY, " +
+                       "created_at BIGINT NOT NULL, " +
+                       "last_access BIGINT NOT NULL, " +
+                       "max_inactive INT NOT NULL, " +
+                       "expires_at BIGINT NOT NULL, " +
+                       "user_id BIGINT, " +
+                       "user_name VARCHAR(255), " +
+                       "user_email VARCHAR(255), " +
+                       "last_write BIGINT, " +
+                       "extra BYTEA)");
+            // Tabellen aus der Zeit vor der Spalte last_write
+            st.execute("ALTER TABLE http_sessions ADD COLUMN IF NOT EXISTS last_write BIGINT");
+            st.execute("CREATE INDEX IF NOT EXISTS ix_http_sessions_expires ON http_sessions (expires_at)");
+            if (!con.getAutoCommit()) {
+                con.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Tabelle http_sessions konnte nicht angelegt werden", e);
+        }
+    }
+
+    @Override
+    public StoredSession createSession() {
+        MapSession session = new MapSession();
+        session.setMaxInactiveInterval(defaultMaxInactive);
+        return new StoredSession(session, null);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        MapSession s = session.delegate;
+        if (session.persistedId == null) {
+            jdbc.update("INSERT INTO http_sessions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    s.getId(), s.getCreationTime().toEpochMilli(), s.getLastAccessedTime().toEpochMilli(),
+                    (int) s.getMaxInactiveInterval().toSeconds(), expiresAt(s),
+                    userId(s), profile(s) == null ? null : profile(s).name(),
+                    profile(s) == null ? null : profile(s).email(), lastWrite(s), extra(s));
+        } else {
+            if (!session.persistedId.equals(s.getId())) {
+                // Neue Session-ID (Schutz vor Session Fixation)
+                jdbc.update("UPDATE http_sessions SET id = ? WHERE id = ?", s.getId(), session.persistedId);
+            }
+            if (session.changed) {
+                jdbc.update("UPDATE http_sessions SET last_access = ?, max_inactive = ?, expires_at = ?, " +
+                            "user_id = ?, user_name = ?, user_email = ?, last_write = ?, extra = ? WHERE id = ?",
+                        s.getLastAccessedTime().toEpochMilli(), (int) s.getMaxInactiveInterval().toSeconds(),
+                        expiresAt(s), userId(s), profile(s) == null ? null : profile(s).name(),
+                        profile(s) == null ? null : profile(s).email(), lastWrite(s), extra(s), s.getId());
+            } else if (session.writeChanged) {
+                jdbc.update("UPDATE http_sessions SET last_access = ?, expires_at = ?, last_write = ? WHERE id = ?",
+                        s.getLastAccessedTime().toEpochMilli(), expiresAt(s), lastWrite(s), s.getId());
+            } else if (s.getLastAccessedTime().toEpochMilli() - session.persistedAccess >= touchIntervalMillis) {
+                jdbc.update("UPDATE http_sessions SET last_access = ?, expires_at = ? WHERE id = ?",
+                        s.getLastAccessedTime().toEpochMilli(), expiresAt(s), s.getId());
+            } else {
+                return;
+            }
+        }
+        session.persistedId = s.getId();
+        session.persistedAccess = s.getLastAccessedTime().toEpochMilli();
+        session.changed = false;
+        session.writeChanged = false;
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+        List<StoredSession> rows = jdbc.query("SELECT " + COLUMNS + " FROM http_sessions WHERE id = ?",
+                (rs, n) -> read(rs), id);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        StoredSession session = rows.getFirst();
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        jdbc.update("DELETE FROM http_sessions WHERE id = ?", id);
+    }
+
+    /**
+     * Löscht abgelaufene Sessions in Blöcken von cleanupBatchSize Zeilen,
+     * damit keine einzelne große Löschung die Tabelle lange sperrt.
+     * @return Anzahl gelöschter Sessions
+     */
+    public int deleteExpired() {
+        long now = System.currentTimeMillis();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbc.update("DELETE FROM http_sessions WHERE id IN (" +
+                                  "SELECT id FROM http_sessions WHERE expires_at < ? ORDER BY expires_at LIMIT ?)",
+                    now, cleanupBatchSize);
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+        return total;
+    }
+
+    private StoredSession read(ResultSet rs) throws SQLException {
+        MapSession s = new MapSession(rs.getString("id"));
+        s.setCreationTime(Instant.ofEpochMilli(rs.getLong("created_at")));
+        s.setLastAccessedTime(Instant.ofEpochMilli(rs.getLong("last_access")));
+        s.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("max_inactive")));
+
+        long userId = rs.getLong("user_id");
+        if (!rs.wasNull()) {
+            s.setAttribute(SessionUsers.USER_ID, userId);
+            String name = rs.getString("user_name");
+            String email = rs.getString("user_email");
+            if (name != null || email != null) {
+                s.setAttribute(SessionUsers.PROFILE, new SessionUser(userId, name, email));
+            }
+        }
+        long lastWrite = rs.getLong("last_write");
+        if (!rs.wasNull()) {
+            s.setAttribute(ReadYourWritesInterceptor.LAST_WRITE, lastWrite);
+        }
+        byte[] extra = rs.getBytes("extra");
+        if (extra != null) {
+            readExtra(extra).forEach(s::setAttribute);
+        }
+        return new StoredSession(s, s.getId());
+    }
+
+    private static long expiresAt(MapSession s) {
+        Duration maxInactive = s.getMaxInactiveInterval();
+        return maxInactive.isNegative()
+                ? Long.MAX_VALUE
+                : s.getLastAccessedTime().plus(maxInactive).toEpochMilli();
+    }
+
+    private static Long userId(MapSession s) {
+        return s.getAttribute(SessionUsers.USER_ID);
+    }
+
+    private static SessionUser profile(MapSession s) {
+        return s.getAttribute(SessionUsers.PROFILE);
+    }
+
+    private static Long lastWrite(MapSession s) {
+        return s.getAttribute(ReadYourWritesInterceptor.LAST_WRITE);
+    }
+
+    /**
+     * Alle Attribute außer denen mit eigener Spalte, serialisiert; null, wenn es keine gibt (Normalfall).
+     */
+    private static byte[] extra(MapSession s) {
+        HashMap<String, Object> extra = new HashMap<>();
+        for (String name : s.getAttributeNames()) {
+            if (!COLUMN_ATTRIBUTES.contains(name)) {
+                extra.put(name, s.getAttribute(name));
+            }
+        }
+        if (extra.isEmpty()) {
+            return null;
+        }
+        try {
+            return new DefaultSerializer().serializeToByteArray(extra);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Session-Attribute nicht serialisierbar", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readExtra(byte[] bytes) {
+        try {
+            return (Map<String, Object>) new DefaultDeserializer(JdbcSessionRepository.class.getClassLoader())
+                    .deserializeFromByteArray(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Session-Attribute nicht lesbar", e);
+        }
+    }
+
+    /**
+     * Session mit Änderungsverfolgung: "changed" wird nur gesetzt, wenn sich ein Attribut
+     * oder die Ablaufzeit tatsächlich ändert. Der reine Zugriffszeitpunkt zählt nicht dazu,
+     * der Zeitpunkt des letzten Schreibzugriffs nur als "writeChanged" (schmales UPDATE).
+     */
+    public static final class StoredSession implements Session {
+
+        private final MapSession delegate;
+        /** ID, unter der die Session gespeichert ist (null = noch nicht gespeichert). */
+        private String persistedId;
+        private long persistedAccess;
+        private boolean changed;
+        private boolean writeChanged;
+
+        private StoredSession(MapSession delegate, String persistedId) {
+            this.delegate = delegate;
+            this.persistedId = persistedId;
+            this.persistedAccess = delegate.getLastAccessedTime().toEpochMilli();
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            if (!Objects.equals(delegate.getAttribute(attributeName), attributeValue)) {
+                if (ReadYourWritesInterceptor.LAST_WRITE.equals(attributeName)) {
+                    writeChanged = true;
+                } else {
+                    changed = true;
+                }
+            }
+            delegate.setAttribute(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            if (delegate.getAttribute(attributeName) != null) {
+                changed = true;
+            }
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            if (!interval.equals(delegate.getMaxInactiveInterval())) {
+                changed = true;
+            }
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
@@ -1,14 +1,43 @@
 package financemaster.config;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
+/**
+ * PasswordEncoder der Anwendung: BCrypt mit konfigurierbaren Kosten, gemessen (TimedPasswordEncoder)
+ * und auf einem begrenzten Thread-Pool ausgeführt (BoundedPasswordEncoder).
+ * * Einstellungen:
+ * - auth.password.bcrypt-strength: Kostenfaktor (log2 der Runden); bestehende Hashes mit
+ *   niedrigeren Kosten werden beim nächsten erfolgreichen Login neu berechnet
+ * - auth.hashing.threads: gleichzeitige Hash-Berechnungen (0 = Anzahl CPU-Kerne)
+ * - auth.hashing.queue-capacity / auth.hashing.timeout: Warteschlange davor, danach 503
+ */
 @Configuration
 public class PasswordConfig {
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry registry,
+                                           @Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.hashing.threads:0}") int threads,
+                                           @Value("${auth.hashing.queue-capacity:100}") int queueCapacity,
+                                           @Value("${auth.hashing.timeout:10s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Timer innen: misst die reine Rechenzeit, nicht die Wartezeit in der Warteschlange
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), registry),
+                poolSize, queueCapacity, timeout);
+        Gauge.builder("auth.password.hash.queued", encoder, BoundedPasswordEncoder::getQueued)
+                .description("Passwort-Hashes, die auf einen freien Thread warten")
+                .register(registry);
+        Gauge.builder("auth.password.hash.active", encoder, BoundedPasswordEncoder::getActive)
+                .description("Gerade laufende Passwort-Hashes")
+                .register(registry);
+        return encoder;
     }
-}
\ No newline at end of file
+}
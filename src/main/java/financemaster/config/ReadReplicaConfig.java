@@ -0,0 +1,70 @@
+package financemaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Lese-Replikat (datasource.replica.enabled=true): zwei Connection-Pools statt einem.
+ * - primaryDataSource: wie bisher aus spring.datasource.* (Pool-Name "primary")
+ * - replicaDataSource: aus datasource.replica.url/username/password, Pool-Einstellungen unter
+ *   datasource.replica.hikari.* (Pool-Name "replica")
+ * Beide bekommen die Zugangskontrolle (DataSourceAdmissionConfig) und eigene Metriken
+ * (hikaricp.connections.* bzw. datasource.admission.* mit Tag pool=primary|replica).
+ * Als Replikat-Ersatz für lokale Tests genügt eine zweite H2- oder Postgres-Instanz
+ * bzw. ein zweiter Pool auf dieselbe Datenbank.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    @Value("${datasource.replica.read-your-writes:5s}")
+    private Duration readYourWrites;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:}") String username,
+                                              @Value("${datasource.replica.password:}") String password) {
+        HikariDataSource ds = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        ds.setPoolName("replica");
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    /**
+     * Die DataSource für JPA, JdbcTemplate & Co. Der Lazy-Proxy holt die echte Verbindung erst
+     * beim ersten Statement, wenn das readOnly-Flag der Transaktion bereits gesetzt ist.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWrites));
+    }
+}
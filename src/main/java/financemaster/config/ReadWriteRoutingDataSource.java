@@ -0,0 +1,50 @@
+package financemaster.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Verteilt Verbindungen auf Primär-Datenbank und Lese-Replikat.
+ * * Lesende Transaktionen (@Transactional(readOnly = true), auch die Lese-Methoden der
+ * Spring-Data-Repositories) gehen an das Replikat, alles andere an die Primär-Datenbank.
+ * Ausnahme: Hat der Request ReadYourWritesInterceptor.PRIMARY_ONLY gesetzt (kurz nach einem
+ * Schreibzugriff derselben Session), wird auch gelesen von der Primär-Datenbank.
+ * * Muss hinter einem LazyConnectionDataSourceProxy stehen: Erst beim ersten Statement ist
+ * bekannt, ob die Transaktion readOnly ist (siehe ReadReplicaConfig).
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Role { PRIMARY, REPLICA }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Role.PRIMARY, primary, Role.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Rolle, an die eine jetzt angeforderte Verbindung gehen würde.
+     */
+    public Role currentRole() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Role.PRIMARY;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(ReadYourWritesInterceptor.PRIMARY_ONLY,
+                RequestAttributes.SCOPE_REQUEST) != null) {
+            return Role.PRIMARY;
+        }
+        return Role.REPLICA;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRole();
+    }
+}
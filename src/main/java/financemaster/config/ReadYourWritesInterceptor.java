@@ -0,0 +1,48 @@
+package financemaster.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes für das Lese-Replikat: Nach einem schreibenden Request (POST, PUT, PATCH, DELETE)
+ * liest dieselbe Session für "window" (tolerierte Replikationsverzögerung) nur von der Primär-Datenbank.
+ * Der Zeitpunkt steht in der Session, gilt also auch über mehrere Instanzen (sessions.store=jdbc,
+ * dort in der eigenen Spalte http_sessions.last_write).
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    /** Request-Attribut: Lesezugriffe dieses Requests nicht an das Replikat geben. */
+    public static final String PRIMARY_ONLY = ReadYourWritesInterceptor.class.getName() + ".PRIMARY_ONLY";
+    /** Session-Attribut: Zeitpunkt (epoch millis) des letzten schreibenden Requests. */
+    public static final String LAST_WRITE = "lastWriteAt";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long windowMillis;
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            // Vor dem Schreiben markieren: Die Antwort kann schon versendet sein, bevor der Request endet
+            session.setAttribute(LAST_WRITE, now);
+            request.setAttribute(PRIMARY_ONLY, Boolean.TRUE);
+        } else if (session.getAttribute(LAST_WRITE) instanceof Long lastWrite && now - lastWrite < windowMillis) {
+            request.setAttribute(PRIMARY_ONLY, Boolean.TRUE);
+        }
+        return true;
+    }
+}
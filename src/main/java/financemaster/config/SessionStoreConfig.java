@@ -0,0 +1,62 @@
+package financemaster.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sessions in der Datenbank statt im Speicher von Tomcat (sessions.store=jdbc).
+ * Ohne diese Einstellung (Standard: memory, z.B. lokal und in Tests) bleibt alles beim Alten.
+ * * Spring Session ersetzt die HttpSession durch JdbcSessionRepository; Cookie-Einstellungen
+ * (server.servlet.session.cookie.*) übernimmt Spring Boot.
+ * * Einstellungen:
+ * - server.servlet.session.timeout: Ablauf nach Inaktivität
+ * - sessions.jdbc.touch-interval: wie oft ein rein lesender Request den Zugriffszeitpunkt schreibt
+ * - sessions.jdbc.cleanup-interval / cleanup-batch-size: Aufräumen abgelaufener Sessions
+ */
+@Configuration
+@ConditionalOnProperty(name = "sessions.store", havingValue = "jdbc")
+@EnableSpringHttpSession
+@EnableScheduling
+public class SessionStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStoreConfig.class);
+
+    private final ObjectProvider<JdbcSessionRepository> sessionRepository;
+
+    public SessionStoreConfig(ObjectProvider<JdbcSessionRepository> sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    @Bean
+    public JdbcSessionRepository sessionRepository(DataSource dataSource,
+                                                   @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+                                                   @Value("${sessions.jdbc.touch-interval:1m}") Duration touchInterval,
+                                                   @Value("${sessions.jdbc.cleanup-batch-size:500}") int cleanupBatchSize) {
+        JdbcSessionRepository repository = new JdbcSessionRepository(dataSource, timeout, touchInterval, cleanupBatchSize);
+        repository.createTable();
+        return repository;
+    }
+
+    /**
+     * Entfernt abgelaufene Sessions (auf jeder Instanz; die Löschungen sind idempotent).
+     */
+    @Scheduled(fixedDelayString = "${sessions.jdbc.cleanup-interval:5m}",
+               initialDelayString = "${sessions.jdbc.cleanup-interval:5m}")
+    public void deleteExpiredSessions() {
+        int deleted = sessionRepository.getObject().deleteExpired();
+        if (deleted > 0) {
+            log.info("{} abgelaufene Sessions entfernt", deleted);
+        }
+    }
+}
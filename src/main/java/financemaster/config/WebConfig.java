@@ -1,16 +1,31 @@
 package financemaster.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import financemaster.rest.CurrentUserIdResolver;
+import financemaster.service.SessionUsers;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
     @Value("${frontend.url}")
     private String frontendUrl;
 
+    private final SessionUsers sessionUsers;
+
+    public WebConfig(SessionUsers sessionUsers) {
+        this.sessionUsers = sessionUsers;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -19,4 +34,19 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Binäres Format per Content Negotiation (Accept: application/cbor), mit denselben
+     * Jackson-Einstellungen wie JSON. Spring Boot nimmt den Converter in die Liste auf.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    // @CurrentUserId in Controllern: User-ID aus der Session statt eigener Hilfsmethoden
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserIdResolver(sessionUsers));
+    }
+}
@@ -0,0 +1,18 @@
+package financemaster.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Jahresabschluss: Summen, Aufschlüsselung nach Kategorien (nach Ausgaben sortiert),
+ * Monatsreihe (alle 12 Monate) und die größten Einzelausgaben.
+ */
+public record AnnualReport(
+    int year,
+    BigDecimal totalIncome,
+    BigDecimal totalExpense,
+    BigDecimal balance,
+    List<CategoryBreakdown> categories,
+    List<SeriesPoint> months,
+    List<TransactionView> topExpenses
+) {}
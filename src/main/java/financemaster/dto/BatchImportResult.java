@@ -0,0 +1,18 @@
+package financemaster.dto;
+
+import java.util.List;
+
+/**
+ * Ergebnis eines Sammel-Imports.
+ * Fehlerhafte Zeilen werden übersprungen und einzeln gemeldet, der Rest wird trotzdem gespeichert.
+ */
+public record BatchImportResult(
+    int received,
+    int imported,
+    List<RowError> errors
+) {
+    /**
+     * Fehler einer einzelnen Zeile (row = 1-basierte Position im Upload, ohne Kopfzeile).
+     */
+    public record RowError(int row, String message) {}
+}
@@ -0,0 +1,15 @@
+package financemaster.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Anfrage für das Löschen mehrerer Transaktionen.
+ * Entweder eine Liste von IDs oder ein Filter (Kategorie und/oder Zeitraum).
+ */
+public record BulkDeleteRequest(
+    List<Long> ids,
+    Long categoryId,
+    LocalDate from,
+    LocalDate to
+) {}
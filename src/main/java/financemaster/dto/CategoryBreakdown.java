@@ -0,0 +1,10 @@
+package financemaster.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Eine Zeile der Aufschlüsselung nach Kategorien (GET /transactions/summary/by-category).
+ * categoryId/categoryName sind null für Buchungen ohne Kategorie.
+ */
+public record CategoryBreakdown(Long categoryId, String categoryName,
+                                BigDecimal income, BigDecimal expense, long count) {}
@@ -0,0 +1,44 @@
+package financemaster.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import financemaster.persistence.entity.TransactionType;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kompaktes, normalisiertes Format der Transaktionsliste (GET /transactions/compact).
+ * * Jede Kategorie steht nur einmal in "categories", die Zeilen verweisen per categoryId darauf.
+ * Zeilen werden als Arrays in der Reihenfolge von COLUMNS geschrieben, Beträge in Cent.
+ * Beispiel: { "columns": [...], "categories": [{ "id": 3, "name": "Miete" }],
+ *             "rows": [[17, "2025-01-03", 85000, "EXPENSE", "Januar", 3]], "nextCursor": null }
+ */
+public record CompactTransactionList(
+    List<String> columns,
+    List<CategoryRef> categories,
+    List<Row> rows,
+    String nextCursor
+) {
+
+    public static final List<String> COLUMNS = List.of("id", "date", "amountMinor", "type", "description", "categoryId");
+
+    public record CategoryRef(Long id, String name) {}
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    public record Row(Long id, LocalDate date, Long amountMinor, TransactionType type, String description, Long categoryId) {}
+
+    public static CompactTransactionList of(List<TransactionView> views, String nextCursor) {
+        Map<Long, CategoryRef> categories = new LinkedHashMap<>();
+        List<Row> rows = views.stream()
+                .map(v -> {
+                    if (v.categoryId() != null) {
+                        categories.computeIfAbsent(v.categoryId(), id -> new CategoryRef(id, v.categoryName()));
+                    }
+                    return new Row(v.id(), v.date(), v.amount(), v.type(), v.description(), v.categoryId());
+                })
+                .toList();
+        return new CompactTransactionList(COLUMNS, List.copyOf(categories.values()), rows, nextCursor);
+    }
+}
@@ -0,0 +1,24 @@
+package financemaster.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import financemaster.persistence.entity.Money;
+
+import java.io.IOException;
+
+/**
+ * Schreibt einen Betrag in Cent als Dezimalzahl ins JSON (1234 -> 12.34),
+ * damit die API trotz ganzzahliger Speicherung weiterhin Euro-Beträge liefert.
+ */
+public class MinorUnitsSerializer extends StdSerializer<Long> {
+
+    public MinorUnitsSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(Money.toDecimal(value));
+    }
+}
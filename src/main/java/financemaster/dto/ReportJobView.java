@@ -0,0 +1,19 @@
+package financemaster.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import financemaster.persistence.entity.ReportStatus;
+import java.time.Instant;
+
+/**
+ * Zustand eines Berichts-Auftrags für GET /reports/{id}.
+ * result (Aufbau siehe AnnualReport) ist nur bei DONE gesetzt, error nur bei FAILED.
+ * Das Ergebnis wird so ausgeliefert, wie es gespeichert wurde, ohne es erneut in Objekte zu lesen.
+ */
+public record ReportJobView(
+    Long id,
+    ReportStatus status,
+    Instant createdAt,
+    Instant finishedAt,
+    JsonNode result,
+    String error
+) {}
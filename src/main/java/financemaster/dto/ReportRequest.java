@@ -0,0 +1,12 @@
+package financemaster.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Anfrage für einen Jahresabschluss (POST /reports).
+ */
+public record ReportRequest(
+    @NotNull @Min(1900) @Max(2100) Integer year
+) {}
@@ -0,0 +1,20 @@
+package financemaster.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * Eine Seite der Transaktionsliste (Cursor-Modus) mit dem Kontostand nach jeder Buchung.
+ * Jede Zeile enthält die Felder von TransactionView plus "balance" (null für Buchungen ohne Datum).
+ */
+public record RunningBalancePage(
+    List<Row> items,
+    String nextCursor
+) {
+    public record Row(
+        @JsonUnwrapped TransactionView transaction,
+        @JsonSerialize(using = MinorUnitsSerializer.class) Long balance
+    ) {}
+}
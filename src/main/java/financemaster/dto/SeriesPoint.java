@@ -0,0 +1,10 @@
+package financemaster.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ein Punkt der Cashflow-Zeitreihe (GET /transactions/summary/series).
+ * start ist der erste Tag des Abschnitts (Tag, Montag der Woche, Monatserster, 1. Januar).
+ */
+public record SeriesPoint(LocalDate start, BigDecimal income, BigDecimal expense, BigDecimal net) {}
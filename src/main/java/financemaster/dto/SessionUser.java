@@ -0,0 +1,24 @@
+package financemaster.dto;
+
+import financemaster.persistence.entity.User;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Profil-Schnappschuss des angemeldeten Nutzers, der beim Login in der Session abgelegt wird.
+ * GET /auth/me liefert ihn direkt aus der Session, ohne die Datenbank zu fragen.
+ */
+public record SessionUser(Long id, String name, String email) implements Serializable {
+
+    public static SessionUser of(User user) {
+        return new SessionUser(user.getId(), user.getName(), user.getEmail());
+    }
+
+    /**
+     * ETag des Profils; ändert sich, sobald sich Name oder E-Mail ändern.
+     */
+    public String etag() {
+        return "\"" + id + "-" + Integer.toHexString(Objects.hash(name, email)) + "\"";
+    }
+}
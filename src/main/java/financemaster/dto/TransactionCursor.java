@@ -0,0 +1,39 @@
+package financemaster.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in der nach (Datum, ID) absteigend sortierten Transaktionsliste.
+ * Wird dem Frontend als undurchsichtiger Base64-Token übergeben, damit die
+ * nächste Seite per Keyset ("alles nach diesem Eintrag") geladen werden kann.
+ */
+public record TransactionCursor(LocalDate date, Long id) {
+
+    /**
+     * Kodiert den Cursor als URL-sicheren Token, z.B. für "?cursor=...".
+     */
+    public String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Liest einen Token wieder ein.
+     * @throws IllegalArgumentException wenn der Token manipuliert oder ungültig ist
+     */
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new IllegalArgumentException("Ungültiger Cursor.");
+            }
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültiger Cursor.", e);
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package financemaster.dto;
 
 import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 public record TransactionDto(
     @NotBlank String description,
-    @Positive Double amount,
+    @NotNull @Positive @Digits(integer = 15, fraction = 2) BigDecimal amount, // Euro, max. 2 Nachkommastellen
     @NotBlank String type, // "INCOME" oder "EXPENSE"
     @NotNull Long categoryId,
     LocalDate date
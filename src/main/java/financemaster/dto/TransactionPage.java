@@ -0,0 +1,12 @@
+package financemaster.dto;
+
+import java.util.List;
+
+/**
+ * Eine Seite der Transaktionsliste im Cursor-Modus.
+ * nextCursor ist null, wenn keine weiteren Einträge existieren.
+ */
+public record TransactionPage(
+    List<TransactionView> items,
+    String nextCursor
+) {}
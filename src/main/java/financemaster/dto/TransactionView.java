@@ -0,0 +1,22 @@
+package financemaster.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import financemaster.persistence.entity.TransactionType;
+import java.time.LocalDate;
+
+/**
+ * Schlanke Lese-Ansicht einer Transaktion für Listen und Export.
+ * Wird per Konstruktor-Projektion direkt aus der Query befüllt (keine Entity, kein
+ * Persistence-Context) und enthält statt der verschachtelten Kategorie/User-Objekte
+ * nur ID und Name der Kategorie.
+ * Der Betrag kommt in Cent aus der Datenbank und wird erst beim Schreiben als Euro-Betrag formatiert.
+ */
+public record TransactionView(
+    Long id,
+    LocalDate date,
+    @JsonSerialize(using = MinorUnitsSerializer.class) Long amount,
+    TransactionType type,
+    String description,
+    Long categoryId,
+    String categoryName
+) {}
@@ -0,0 +1,71 @@
+package financemaster.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+
+/**
+ * Kontostand eines Users zum Monatsende (alle Buchungen bis einschließlich monthEnd).
+ * * Wird beim ersten Abruf eines Stichtags angelegt und danach bei jedem Anlegen/Löschen
+ * einer Buchung in derselben DB-Transaktion mitgeführt (alle Stände ab dem Buchungsdatum).
+ * Ein Kontostand zu einem beliebigen Tag braucht damit nur noch die Buchungen seit dem letzten Stand.
+ */
+@Entity
+@Table(name = "balance_checkpoints",
+       uniqueConstraints = @UniqueConstraint(name = "uk_balance_checkpoints_user_month",
+               columnNames = {"user_id", "month_end"}))
+public class BalanceCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /** Letzter Tag des Monats. */
+    @Column(name = "month_end", nullable = false)
+    private LocalDate monthEnd;
+
+    /** Einnahmen minus Ausgaben in Cent (siehe Money). */
+    @Column(name = "balance_minor", nullable = false)
+    private long balanceMinor;
+
+    public BalanceCheckpoint() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getMonthEnd() {
+        return monthEnd;
+    }
+
+    public void setMonthEnd(LocalDate monthEnd) {
+        this.monthEnd = monthEnd;
+    }
+
+    public long getBalanceMinor() {
+        return balanceMinor;
+    }
+
+    public void setBalanceMinor(long balanceMinor) {
+        this.balanceMinor = balanceMinor;
+    }
+}
@@ -0,0 +1,36 @@
+package financemaster.persistence.entity;
+
+import java.math.BigDecimal;
+
+/**
+ * Umrechnung zwischen Dezimalbeträgen (API) und ganzzahligen Beträgen in der kleinsten
+ * Währungseinheit (Speicherung). Summen über long-Werte sind exakt und kommen ohne
+ * Objekt-Allokation aus.
+ * Die App führt nur eine Währung (Euro), die Anzahl der Nachkommastellen ist daher fest.
+ */
+public final class Money {
+
+    /** Nachkommastellen der Währung: 1 Euro = 100 Cent. */
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    /**
+     * 12.34 -> 1234
+     * @throws IllegalArgumentException bei mehr als SCALE Nachkommastellen oder Überlauf
+     */
+    public static long toMinor(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Ungültiger Betrag (max. " + SCALE + " Nachkommastellen): " + amount);
+        }
+    }
+
+    /**
+     * 1234 -> 12.34
+     */
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
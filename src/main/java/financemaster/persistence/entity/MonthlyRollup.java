@@ -0,0 +1,108 @@
+package financemaster.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDate;
+
+/**
+ * Vorberechnete Monatssumme pro (User, Kategorie, Monat, Typ).
+ * Wird bei jedem Anlegen/Löschen einer Transaktion in derselben DB-Transaktion mitgepflegt,
+ * damit Zusammenfassungen nicht jedes Mal alle Einzelbuchungen summieren müssen.
+ */
+@Entity
+@Table(name = "monthly_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_monthly_rollups_key",
+               columnNames = {"user_id", "category_id", "month_start", "type"}))
+public class MonthlyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    /** Erster Tag des Monats (null für Altdaten ohne Datum). */
+    @Column(name = "month_start")
+    private LocalDate monthStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    /** Summe in Cent (siehe Money). */
+    @Column(name = "total_minor", nullable = false)
+    @ColumnDefault("0")
+    private long totalMinor;
+
+    @Column(name = "tx_count")
+    private long txCount;
+
+    public MonthlyRollup() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public void setMonthStart(LocalDate monthStart) {
+        this.monthStart = monthStart;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public long getTotalMinor() {
+        return totalMinor;
+    }
+
+    public void setTotalMinor(long totalMinor) {
+        this.totalMinor = totalMinor;
+    }
+
+    public long getTxCount() {
+        return txCount;
+    }
+
+    public void setTxCount(long txCount) {
+        this.txCount = txCount;
+    }
+}
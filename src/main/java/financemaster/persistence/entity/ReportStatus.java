@@ -0,0 +1,11 @@
+package financemaster.persistence.entity;
+
+/**
+ * Zustand eines Berichts-Auftrags (siehe ReportJob).
+ */
+public enum ReportStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -1,18 +1,28 @@
 package financemaster.persistence.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+    // Liste/Export/Summe je User, sortiert nach Datum (inkl. Keyset-Pagination über date, id)
+    @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date DESC, id"),
+    // Gleiche Abfragen mit Kategorie-Filter
+    @Index(name = "idx_transactions_user_cat_date", columnList = "user_id, category_id, date")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,7 +30,12 @@ public class Transaction {
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;
-    private Double amount;
+
+    /** Betrag in Cent (siehe Money), nach außen als Dezimalbetrag über getAmount(). */
+    @Column(name = "amount_minor", nullable = false)
+    @ColumnDefault("0")
+    private long amountMinor;
+
     private String description;
     private LocalDate date;
 
@@ -50,12 +65,21 @@ public class Transaction {
         this.type = type;
     }
 
-    public Double getAmount() {
-        return amount;
+    @JsonIgnore
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
+    }
+
+    public BigDecimal getAmount() {
+        return Money.toDecimal(amountMinor);
     }
 
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    public void setAmount(BigDecimal amount) {
+        this.amountMinor = Money.toMinor(amount);
     }
 
     public String getDescription() {
@@ -6,10 +6,17 @@ import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Login/Registrierung suchen über die normalisierte E-Mail (statt lower(email) = lower(?))
+    @Index(name = "ux_users_email_normalized", columnList = "email_normalized", unique = true)
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,10 +25,25 @@ public class User {
     private String name;
     @Column(unique = true)
     private String email;
+
+    /**
+     * E-Mail in Kleinschreibung ohne Leerzeichen am Rand; wird von setEmail gepflegt.
+     */
+    @Column(name = "email_normalized")
+    private String emailNormalized;
     
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
+    /**
+     * Datenstand des Nutzers (Transaktionen, Kategorien), wird bei jeder Änderung per UPDATE
+     * hochgezählt (siehe DataVersionService). Nicht über die Entity schreibbar, damit ein
+     * save() des Users keinen älteren Stand zurückschreibt.
+     */
+    @Column(name = "data_version", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long dataVersion;
+
     public User() {}
 
     public Long getId() {
@@ -46,6 +68,14 @@ public class User {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    /**
+     * Vergleichsform einer E-Mail-Adresse (Groß-/Kleinschreibung und Leerzeichen am Rand egal).
+     */
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
 
     public String getPassword() {
@@ -0,0 +1,17 @@
+package financemaster.persistence.repository;
+
+/**
+ * Einnahmen- und Ausgabensumme eines Zeitraums in Cent.
+ */
+public record AmountTotals(long income, long expense) {
+
+    public static final AmountTotals ZERO = new AmountTotals(0, 0);
+
+    public AmountTotals plus(AmountTotals other) {
+        return new AmountTotals(income + other.income, expense + other.expense);
+    }
+
+    public long balance() {
+        return income - expense;
+    }
+}
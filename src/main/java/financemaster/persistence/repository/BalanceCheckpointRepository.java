@@ -0,0 +1,34 @@
+package financemaster.persistence.repository;
+
+import financemaster.persistence.entity.BalanceCheckpoint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Zugriff auf die Kontostände zum Monatsende (siehe BalanceCheckpoint).
+ */
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    /**
+     * Addiert eine Änderung auf alle Stände ab dem Stichtag (alle späteren Monatsenden enthalten sie).
+     * Wie bei den Monatssummen rechnet die Datenbank, nicht Java.
+     * @return Anzahl geänderter Stände
+     */
+    @Modifying
+    @Query("UPDATE BalanceCheckpoint b SET b.balanceMinor = b.balanceMinor + :delta " +
+           "WHERE b.userId = :userId AND b.monthEnd >= :date")
+    int addFrom(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("delta") long delta);
+
+    /**
+     * Die letzten Stände bis einschließlich date, neueste zuerst (mit Seitengröße 1: der nächstgelegene).
+     * Liest reine Werte statt Entities, damit ein erneutes Lesen nach dem Sperren den aktuellen Stand sieht.
+     */
+    @Query("SELECT new financemaster.persistence.repository.CheckpointBalance(b.monthEnd, b.balanceMinor) " +
+           "FROM BalanceCheckpoint b WHERE b.userId = :userId AND b.monthEnd <= :date ORDER BY b.monthEnd DESC")
+    List<CheckpointBalance> findLatest(@Param("userId") Long userId, @Param("date") LocalDate date, Pageable page);
+}
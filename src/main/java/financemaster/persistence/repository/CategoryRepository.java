@@ -1,11 +1,33 @@
 package financemaster.persistence.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import financemaster.persistence.entity.Category;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 	List<Category> findByUserId(Long userId);
+
+	/**
+	 * Liefert aus den übergebenen IDs nur die, die dem Benutzer gehören.
+	 * Prüft die Berechtigung für viele Kategorien mit einer einzigen Query.
+	 */
+	@Query("SELECT c.id FROM Category c WHERE c.user.id = :userId AND c.id IN :ids")
+	List<Long> findOwnedIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+	/**
+	 * Löscht eine Kategorie nur, wenn sie dem Benutzer gehört - in einem Statement,
+	 * ohne sie vorher zu laden.
+	 * @return 1 wenn gelöscht, 0 wenn nicht vorhanden oder fremd
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("DELETE FROM Category c WHERE c.id = :id AND c.user.id = :userId")
+	int deleteOwned(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -0,0 +1,11 @@
+package financemaster.persistence.repository;
+
+/**
+ * Einnahmen, Ausgaben (in Cent) und Anzahl der Buchungen einer Kategorie.
+ * categoryId und categoryName sind null für Buchungen ohne Kategorie.
+ */
+public record CategoryTotal(Long categoryId, String categoryName, long income, long expense, long count) {
+
+    /** Sortierung der Aufschlüsselung (jeweils absteigend). */
+    public enum SortBy { INCOME, EXPENSE, COUNT }
+}
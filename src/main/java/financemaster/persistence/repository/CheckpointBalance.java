@@ -0,0 +1,8 @@
+package financemaster.persistence.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Stichtag und Kontostand (Cent) eines BalanceCheckpoint, als reine Werte gelesen.
+ */
+public record CheckpointBalance(LocalDate monthEnd, long balance) {}
@@ -0,0 +1,10 @@
+package financemaster.persistence.repository;
+
+import financemaster.persistence.entity.TransactionType;
+import java.time.LocalDate;
+
+/**
+ * Summe und Anzahl der Transaktionen eines Tages pro Kategorie und Typ.
+ * Summe in Cent. Wird vor Bulk-Löschungen gelesen, um die Monatssummen in einem Schritt zu korrigieren.
+ */
+public record DailyTotal(Long categoryId, LocalDate date, TransactionType type, Long total, Long count) {}
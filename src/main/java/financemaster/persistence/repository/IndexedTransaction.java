@@ -0,0 +1,8 @@
+package financemaster.persistence.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Die Felder einer Transaktion, die der Suchindex braucht (Betrag in Cent).
+ */
+public record IndexedTransaction(Long id, LocalDate date, Long amountMinor, String description) {}
@@ -0,0 +1,59 @@
+package financemaster.persistence.repository;
+
+import financemaster.persistence.entity.MonthlyRollup;
+import financemaster.persistence.entity.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Zugriff auf die vorberechneten Monatssummen (siehe MonthlyRollup).
+ * Summen mit optionalen Filtern stehen in MonthlyRollupRepositoryCustom.
+ */
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long>, MonthlyRollupRepositoryCustom {
+
+    /**
+     * Addiert einen Betrag auf eine bestehende Monatssumme (negativ beim Löschen).
+     * * Die Rechnung "totalMinor = totalMinor + :amount" passiert in der Datenbank, damit sich
+     * parallele Buchungen nicht gegenseitig überschreiben (kein Read-Modify-Write in Java).
+     * * @return Anzahl geänderter Zeilen; 0 bedeutet, dass es für den Schlüssel noch keine Zeile gibt.
+     */
+    @Modifying
+    @Query("UPDATE MonthlyRollup r SET r.totalMinor = r.totalMinor + :amount, r.txCount = r.txCount + :count " +
+           "WHERE r.userId = :userId " +
+           "AND (r.categoryId = :catId OR (:catId IS NULL AND r.categoryId IS NULL)) " +
+           "AND (r.monthStart = :month OR (cast(:month as date) IS NULL AND r.monthStart IS NULL)) " +
+           "AND r.type = :type")
+    int addToRollup(@Param("userId") Long userId,
+                    @Param("catId") Long catId,
+                    @Param("month") LocalDate month,
+                    @Param("type") TransactionType type,
+                    @Param("amount") long amount,
+                    @Param("count") long count);
+
+    /**
+     * Liest alle Monatssummen als reine Werte (ohne Entities im Persistence-Context).
+     * So sieht der Abgleich immer den Datenbankstand, auch nach vorherigen Bulk-Updates.
+     * * Zeilenaufbau: [userId, categoryId, monthStart, typ, summe, anzahl]
+     */
+    @Query("SELECT r.userId, r.categoryId, r.monthStart, r.type, r.totalMinor, r.txCount FROM MonthlyRollup r")
+    List<Object[]> findAllRows();
+
+    /**
+     * Alle Monatssummen einer Kategorie als reine Werte.
+     * * Zeilenaufbau: [monthStart, typ, summe, anzahl]
+     */
+    @Query("SELECT r.monthStart, r.type, r.totalMinor, r.txCount FROM MonthlyRollup r " +
+           "WHERE r.userId = :userId AND r.categoryId = :catId")
+    List<Object[]> findRowsByCategory(@Param("userId") Long userId, @Param("catId") Long catId);
+
+    /**
+     * Entfernt alle Monatssummen einer Kategorie (nach Verschieben oder Löschen ihrer Buchungen).
+     */
+    @Modifying
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId AND r.categoryId = :catId")
+    int deleteByCategory(@Param("userId") Long userId, @Param("catId") Long catId);
+}
@@ -0,0 +1,27 @@
+package financemaster.persistence.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Summen über die Monatssummen mit optionalen Filtern, gebaut über die Criteria API wie bei den
+ * Transaktionen (siehe TransactionSpecifications): Nur gesetzte Filter landen im SQL.
+ * Implementiert in MonthlyRollupRepositoryCustomImpl.
+ */
+public interface MonthlyRollupRepositoryCustom {
+
+    /**
+     * Summiert die Monatssummen (in Cent) für ganze Monate im Bereich [fromMonth, toMonth].
+     * Gleicher Aufbau wie TransactionRepository.calculateFinancialSummary, liest aber
+     * nur eine Zeile pro Monat/Kategorie/Typ statt jeder einzelnen Buchung.
+     * @param catId Optional: Filter nach Kategorie-ID.
+     * @param fromMonth Optional: erster Monat (Monatserster, inklusiv).
+     * @param toMonth Optional: letzter Monat (Monatserster, inklusiv).
+     */
+    AmountTotals sumRollups(Long userId, Long catId, LocalDate fromMonth, LocalDate toMonth);
+
+    /**
+     * Wie sumRollups, aber pro Monat gruppiert und aufsteigend sortiert (Monate ohne Datum fallen heraus).
+     */
+    List<PeriodTotal> sumRollupsPerMonth(Long userId, Long catId, LocalDate fromMonth, LocalDate toMonth);
+}
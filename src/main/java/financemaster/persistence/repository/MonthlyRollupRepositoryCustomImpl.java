@@ -0,0 +1,90 @@
+package financemaster.persistence.repository;
+
+import financemaster.persistence.entity.MonthlyRollup;
+import financemaster.persistence.entity.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria-API-Implementierung von MonthlyRollupRepositoryCustom.
+ * Jede Abfrage enthält nur die Bedingungen der tatsächlich gesetzten Filter.
+ */
+class MonthlyRollupRepositoryCustomImpl implements MonthlyRollupRepositoryCustom {
+
+    private final EntityManager em;
+
+    MonthlyRollupRepositoryCustomImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public AmountTotals sumRollups(Long userId, Long catId, LocalDate fromMonth, LocalDate toMonth) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<MonthlyRollup> r = q.from(MonthlyRollup.class);
+
+        q.multiselect(sumOfType(cb, r, TransactionType.INCOME).alias("inc"),
+                      sumOfType(cb, r, TransactionType.EXPENSE).alias("exp"))
+         .where(filter(cb, r, userId, catId, fromMonth, toMonth).toArray(Predicate[]::new));
+
+        Tuple row = em.createQuery(q).getSingleResult();
+        // Null-Safe: SUM liefert NULL, wenn keine Zeilen passen
+        Long inc = row.get("inc", Long.class);
+        Long exp = row.get("exp", Long.class);
+        return new AmountTotals(inc != null ? inc : 0L, exp != null ? exp : 0L);
+    }
+
+    @Override
+    public List<PeriodTotal> sumRollupsPerMonth(Long userId, Long catId, LocalDate fromMonth, LocalDate toMonth) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<MonthlyRollup> r = q.from(MonthlyRollup.class);
+        Expression<LocalDate> month = r.get("monthStart");
+
+        List<Predicate> where = filter(cb, r, userId, catId, fromMonth, toMonth);
+        where.add(cb.isNotNull(month));
+        q.multiselect(month.alias("month"),
+                      sumOfType(cb, r, TransactionType.INCOME).alias("inc"),
+                      sumOfType(cb, r, TransactionType.EXPENSE).alias("exp"))
+         .where(where.toArray(Predicate[]::new))
+         .groupBy(month)
+         .orderBy(cb.asc(month));
+
+        return em.createQuery(q).getResultList().stream()
+                 .map(row -> new PeriodTotal(row.get("month", LocalDate.class),
+                                             row.get("inc", Long.class),
+                                             row.get("exp", Long.class)))
+                 .toList();
+    }
+
+    private static List<Predicate> filter(CriteriaBuilder cb, Root<MonthlyRollup> r, Long userId, Long catId,
+                                          LocalDate fromMonth, LocalDate toMonth) {
+        List<Predicate> predicates = new ArrayList<>(5);
+        predicates.add(cb.equal(r.get("userId"), userId));
+        if (catId != null) {
+            predicates.add(cb.equal(r.get("categoryId"), catId));
+        }
+        if (fromMonth != null) {
+            predicates.add(cb.greaterThanOrEqualTo(r.get("monthStart"), fromMonth));
+        }
+        if (toMonth != null) {
+            predicates.add(cb.lessThanOrEqualTo(r.get("monthStart"), toMonth));
+        }
+        return predicates;
+    }
+
+    private static Expression<Long> sumOfType(CriteriaBuilder cb, Root<MonthlyRollup> r, TransactionType type) {
+        return cb.sum(cb.<Long>selectCase()
+                .when(cb.equal(r.get("type"), type), r.<Long>get("totalMinor"))
+                .otherwise(0L));
+    }
+}
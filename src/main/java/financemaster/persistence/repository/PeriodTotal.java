@@ -0,0 +1,9 @@
+package financemaster.persistence.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Einnahmen und Ausgaben (in Cent) eines Zeitabschnitts, z.B. eines Tages oder Monats.
+ * start ist der erste Tag des Abschnitts.
+ */
+public record PeriodTotal(LocalDate start, long income, long expense) {}
@@ -0,0 +1,43 @@
+package financemaster.persistence.repository;
+
+import financemaster.persistence.entity.ReportJob;
+import financemaster.persistence.entity.ReportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Zugriff auf die Berichts-Aufträge (siehe ReportJob).
+ */
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    /**
+     * Auftrag nur, wenn er dem User gehört.
+     */
+    Optional<ReportJob> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Neuester Auftrag für denselben Bericht auf demselben Datenstand mit einem der Zustände
+     * (Index user_id, params, data_version).
+     */
+    Optional<ReportJob> findFirstByUserIdAndParamsAndDataVersionAndStatusInOrderByIdDesc(
+            Long userId, String params, long dataVersion, Collection<ReportStatus> statuses);
+
+    /**
+     * Entfernt ältere Ergebnisse desselben Berichts, sobald ein neueres fertig ist: solche auf einem
+     * älteren Datenstand und frühere Aufträge auf demselben. Ergebnisse auf einem neueren Datenstand
+     * bleiben, auch wenn der gerade fertige Auftrag später angelegt wurde oder später fertig wird.
+     * @return Anzahl gelöschter Aufträge
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReportJob j WHERE j.userId = :userId AND j.params = :params " +
+           "AND (j.dataVersion < :keepVersion OR (j.dataVersion = :keepVersion AND j.id < :keepId)) " +
+           "AND j.status IN ('DONE', 'FAILED')")
+    int deleteOlderResults(@Param("userId") Long userId, @Param("params") String params,
+                           @Param("keepId") Long keepId, @Param("keepVersion") long keepVersion);
+}
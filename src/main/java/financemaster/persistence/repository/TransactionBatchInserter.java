@@ -0,0 +1,54 @@
+package financemaster.persistence.repository;
+
+import financemaster.persistence.entity.TransactionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Schreibt viele Transaktionen auf einmal per JDBC-Batch.
+ * * Warum nicht transactionRepo.saveAll()?
+ * Transaction nutzt GenerationType.IDENTITY. Hibernate muss dann nach jedem INSERT die
+ * generierte ID abfragen und kann keine Batches bilden. Hier wird die ID gar nicht benötigt,
+ * deshalb gehen die INSERTs als echte JDBC-Batches (ein Roundtrip pro Batch) an die Datenbank.
+ * * Läuft in der Spring-Transaktion des Aufrufers mit (gleiche Verbindung wie JPA).
+ */
+@Repository
+public class TransactionBatchInserter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (user_id, category_id, type, amount_minor, description, date) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Eine bereits validierte Zeile für den Import.
+     */
+    public record Row(Long userId, Long categoryId, TransactionType type, long amountMinor,
+                      String description, LocalDate date) {}
+
+    private final JdbcTemplate jdbc;
+
+    public TransactionBatchInserter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Fügt alle Zeilen in Batches der angegebenen Größe ein.
+     */
+    public void insertAll(List<Row> rows, int batchSize) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate(INSERT_SQL, rows, batchSize, (ps, r) -> {
+            ps.setLong(1, r.userId());
+            ps.setLong(2, r.categoryId());
+            ps.setString(3, r.type().name());
+            ps.setLong(4, r.amountMinor());
+            ps.setString(5, r.description());
+            ps.setDate(6, Date.valueOf(r.date()));
+        });
+    }
+}
@@ -1,7 +1,12 @@
 package financemaster.persistence.repository;
 
+import financemaster.dto.TransactionView;
+import financemaster.persistence.entity.Category;
 import financemaster.persistence.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
@@ -9,54 +14,75 @@ import java.util.*;
 
 /**
  * Schnittstelle zur Datenbank für Transaktionen.
- * Nutzt Spring Data JPA für Standard-Methoden (save, delete, findById)
- * und benutzerdefinierte JPQL-Queries für komplexe Filter und Auswertungen.
+ * Nutzt Spring Data JPA für Standard-Methoden (save, delete, findById),
+ * die Criteria API für Abfragen mit optionalen Filtern (TransactionRepositoryCustom)
+ * und JPQL für feste Auswertungen.
  */
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+                                               JpaSpecificationExecutor<Transaction>,
+                                               TransactionRepositoryCustom {
 
     /**
-     * Sucht Transaktionen mit flexiblen Filtern.
-     * * Erläuterung der JPQL-Logik:
-     * Die Bedingung "(:param IS NULL OR t.feld = :param)" wirkt wie ein optionaler Schalter.
-     * - Wenn der Parameter NULL ist, ist der erste Teil wahr -> Die Bedingung wird ignoriert (Filter inaktiv).
-     * - Wenn der Parameter gesetzt ist, muss er mit dem Datenbankfeld übereinstimmen (Filter aktiv).
-     * * "cast(... as date)" stellt sicher, dass der Datenbank-Datentyp korrekt interpretiert wird,
-     * da JPQL manchmal Datumsvergleiche unterschiedlich handhabt.
-     * * @param userId Zwingend: Der Benutzer, dem die Daten gehören.
-     * @param catId Optional: Filter nach Kategorie-ID.
-     * @param from Optional: Startdatum (inklusiv).
-     * @param to Optional: Enddatum (inklusiv).
-     * @return Eine Liste der passenden Transaktionen, sortiert nach Datum (neueste zuerst).
+     * Gruppiert alle Transaktionen nach (User, Kategorie, Jahr, Monat, Typ).
+     * Grundlage für den Neuaufbau bzw. die Prüfung der Monatssummen (MonthlyRollup).
+     * * Zeilenaufbau: [userId, categoryId, jahr, monat, typ, summe (Cent), anzahl]
      */
-    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId " +
-           "AND (:catId IS NULL OR t.category.id = :catId) " +
-           "AND (cast(:from as date) IS NULL OR t.date >= :from) " +
-           "AND (cast(:to as date) IS NULL OR t.date <= :to) " +
-           "ORDER BY t.date DESC")
-    List<Transaction> findAllByFilter(@Param("userId") Long userId, 
-                                      @Param("catId") Long catId, 
-                                      @Param("from") LocalDate from, 
-                                      @Param("to") LocalDate to);
+    @Query("SELECT t.user.id, c.id, extract(year from t.date), extract(month from t.date), t.type, " +
+           "SUM(t.amountMinor), COUNT(t) " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "GROUP BY t.user.id, c.id, extract(year from t.date), extract(month from t.date), t.type")
+    List<Object[]> aggregateByMonth();
 
     /**
-     * Berechnet die Finanz-Zusammenfassung direkt in der Datenbank.
-     * * Warum hier und nicht in Java?
-     * Es ist viel performanter, die Datenbank rechnen zu lassen (Aggregation), 
-     * als tausende Transaktionen in den Speicher zu laden und in einer Schleife zu addieren.
-     * * Funktionsweise:
-     * - SUM(CASE WHEN...): Addiert nur Beträge, wenn der Typ stimmt (INCOME oder EXPENSE).
-     * - Das Ergebnis ist eine Map, z.B. { "inc": 1500.0, "exp": 450.50 }.
-     * * Die gleichen Filter wie oben werden angewendet, damit die Summen zum 
-     * angezeigten Zeitraum/Kategorie passen.
+     * Prüft, ob noch Transaktionen auf die Kategorie verweisen.
      */
-    @Query("SELECT SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE 0 END) as inc, " +
-           "SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount ELSE 0 END) as exp " +
-           "FROM Transaction t WHERE t.user.id = :userId " +
-           "AND (:catId IS NULL OR t.category.id = :catId) " +
-           "AND (cast(:from as date) IS NULL OR t.date >= :from) " +
-           "AND (cast(:to as date) IS NULL OR t.date <= :to)")
-    Map<String, Double> calculateFinancialSummary(@Param("userId") Long userId, 
-                                                  @Param("catId") Long catId, 
-                                                  @Param("from") LocalDate from,
-                                                  @Param("to") LocalDate to);
-}
\ No newline at end of file
+    boolean existsByCategoryId(Long categoryId);
+
+    /**
+     * Hängt alle Transaktionen einer Kategorie mit einem einzigen UPDATE an eine andere Kategorie.
+     * @return Anzahl verschobener Transaktionen
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.category = :target " +
+           "WHERE t.category.id = :sourceId AND t.user.id = :userId")
+    int reassignCategory(@Param("userId") Long userId,
+                         @Param("sourceId") Long sourceId,
+                         @Param("target") Category target);
+
+    /**
+     * Liefert den nächsten Block von Transaktions-IDs einer Kategorie (nur IDs, keine Entities).
+     * Da die Blöcke direkt danach gelöscht werden, wird immer ab Seite 0 gelesen.
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.user.id = :userId AND t.category.id = :catId ORDER BY t.id")
+    List<Long> findIdsByCategory(@Param("userId") Long userId, @Param("catId") Long catId, Pageable page);
+
+    /**
+     * Alle Transaktionen des Users mit den Feldern für den Suchindex (ohne Kategorie-Join).
+     */
+    @Query("SELECT new financemaster.persistence.repository.IndexedTransaction(t.id, t.date, t.amountMinor, t.description) " +
+           "FROM Transaction t WHERE t.user.id = :userId")
+    List<IndexedTransaction> findIndexEntries(@Param("userId") Long userId);
+
+    /**
+     * Laufende Summe (Einnahmen positiv, Ausgaben negativ, in Cent) in der Reihenfolge (date, id)
+     * über alle Buchungen ab fromDate bis einschließlich der Buchung (toDate, toId).
+     * Gerechnet per Window-Funktion in der Datenbank, ohne die Zeilen einzeln nach Java zu holen.
+     * * Zeilenaufbau: [id, laufende Summe]
+     */
+    @Query("SELECT t.id, SUM(CASE WHEN t.type = 'INCOME' THEN t.amountMinor ELSE -t.amountMinor END) " +
+           "OVER (ORDER BY t.date, t.id) " +
+           "FROM Transaction t WHERE t.user.id = :userId AND t.date >= :fromDate " +
+           "AND (t.date < :toDate OR (t.date = :toDate AND t.id <= :toId))")
+    List<Object[]> runningNet(@Param("userId") Long userId, @Param("fromDate") LocalDate fromDate,
+                              @Param("toDate") LocalDate toDate, @Param("toId") Long toId);
+
+    /**
+     * Die größten Ausgaben im Zeitraum (inklusiv), größte zuerst; die Anzahl bestimmt die Seitengröße.
+     */
+    @Query("SELECT new financemaster.dto.TransactionView(t.id, t.date, t.amountMinor, t.type, t.description, c.id, c.name) " +
+           "FROM Transaction t LEFT JOIN t.category c " +
+           "WHERE t.user.id = :userId AND t.type = 'EXPENSE' AND t.date BETWEEN :from AND :to " +
+           "ORDER BY t.amountMinor DESC, t.id DESC")
+    List<TransactionView> findTopExpenses(@Param("userId") Long userId, @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to, Pageable page);
+}
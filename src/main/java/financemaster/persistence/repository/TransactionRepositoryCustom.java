@@ -0,0 +1,99 @@
+package financemaster.persistence.repository;
+
+import financemaster.dto.TransactionView;
+import financemaster.persistence.entity.Transaction;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Abfragen mit optionalen Filtern, die über die Criteria API gebaut werden
+ * (siehe TransactionSpecifications). Implementiert in TransactionRepositoryCustomImpl.
+ * * Die Listen-Abfragen liefern TransactionView-Projektionen statt Entities: Es werden nur die
+ * benötigten Spalten in einem einzigen Statement gelesen (Kategorie per LEFT JOIN), ohne
+ * Nachladen von Kategorie/User und ohne Dirty-Checking im Persistence-Context.
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Sucht Transaktionen mit flexiblen Filtern.
+     * @param userId Zwingend: Der Benutzer, dem die Daten gehören.
+     * @param catId Optional: Filter nach Kategorie-ID.
+     * @param from Optional: Startdatum (inklusiv).
+     * @param to Optional: Enddatum (inklusiv).
+     * @return Eine Liste der passenden Transaktionen, sortiert nach Datum (neueste zuerst).
+     */
+    List<TransactionView> findViewsByFilter(Long userId, Long catId, LocalDate from, LocalDate to);
+
+    /**
+     * Wie findViewsByFilter, liefert die Treffer aber als Stream statt als fertige Liste.
+     * * Die Zeilen werden über einen Forward-Only-Cursor in Blöcken (Fetch-Size) aus der
+     * Datenbank gelesen, statt alle auf einmal in den Speicher zu laden.
+     * * WICHTIG: Muss innerhalb einer (read-only) Transaktion konsumiert und danach
+     * geschlossen werden (try-with-resources), sonst bleibt die Verbindung belegt.
+     */
+    Stream<TransactionView> streamViewsByFilter(Long userId, Long catId, LocalDate from, LocalDate to);
+
+    /**
+     * Lädt eine Seite der gefilterten Transaktionen per Keyset-Pagination.
+     * * Statt OFFSET (das alle übersprungenen Zeilen trotzdem lesen muss) wird ab der Position
+     * des letzten Eintrags der vorherigen Seite weitergesucht: "(date, id) kleiner als Cursor".
+     * Die ID dient als eindeutiger Tie-Breaker für mehrere Buchungen am selben Tag.
+     * * @param afterDate Optional: Datum des Cursors (null = erste Seite).
+     * @param afterId Optional: ID des Cursors.
+     * @param limit Maximale Anzahl Zeilen.
+     */
+    List<TransactionView> findViewPageByFilter(Long userId, Long catId, LocalDate from, LocalDate to,
+                                               LocalDate afterDate, Long afterId, int limit);
+
+    /**
+     * Lädt die Transaktionen mit den angegebenen IDs in einer Abfrage, soweit sie dem User gehören.
+     * Die Reihenfolge ist die der Liste (date DESC, id DESC), nicht die der IDs.
+     */
+    List<TransactionView> findViewsByIds(Long userId, Collection<Long> ids);
+
+    /**
+     * Berechnet die Finanz-Zusammenfassung direkt in der Datenbank.
+     * * Warum hier und nicht in Java?
+     * Es ist viel performanter, die Datenbank rechnen zu lassen (Aggregation),
+     * als tausende Transaktionen in den Speicher zu laden und in einer Schleife zu addieren.
+     * * Funktionsweise:
+     * - SUM(CASE WHEN...): Addiert nur Beträge, wenn der Typ stimmt (INCOME oder EXPENSE).
+     * - Das Ergebnis sind exakte Summen in Cent, z.B. income = 150000, expense = 45050.
+     * * Die gleichen Filter wie oben werden angewendet, damit die Summen zum
+     * angezeigten Zeitraum/Kategorie passen.
+     */
+    AmountTotals calculateFinancialSummary(Long userId, Long catId, LocalDate from, LocalDate to);
+
+    /**
+     * Summiert die Transaktionen, auf die die Bedingung passt, pro (Kategorie, Tag, Typ).
+     * Wird vor einem Bulk-Delete aufgerufen, damit die Monatssummen ohne Laden der
+     * einzelnen Zeilen korrigiert werden können.
+     */
+    List<DailyTotal> sumByDay(Specification<Transaction> spec);
+
+    /**
+     * Einnahmen und Ausgaben pro Buchungstag (ein GROUP BY über das Datum, aufsteigend sortiert).
+     * Grundlage der Cashflow-Zeitreihe; Wochen/Monate werden daraus in Java zusammengefasst.
+     * Buchungen ohne Datum fallen heraus.
+     */
+    List<PeriodTotal> sumPerDate(Long userId, Long catId, LocalDate from, LocalDate to);
+
+    /**
+     * Einnahmen, Ausgaben und Anzahl pro Kategorie in einer gruppierten Abfrage
+     * (LEFT JOIN auf categories, damit auch Buchungen ohne Kategorie als eigene Zeile erscheinen).
+     * Sortiert wird in der Datenbank, sodass ein Limit (Top-K) direkt als LIMIT greift.
+     * @param limit maximale Anzahl Zeilen, null = alle
+     */
+    List<CategoryTotal> sumPerCategory(Long userId, LocalDate from, LocalDate to,
+                                       CategoryTotal.SortBy sortBy, Integer limit);
+
+    /**
+     * Löscht alle Transaktionen, auf die die Bedingung passt, mit einem einzigen
+     * DELETE-Statement (ohne die Entities vorher zu laden).
+     * @return Anzahl gelöschter Zeilen
+     */
+    int deleteMatching(Specification<Transaction> spec);
+}
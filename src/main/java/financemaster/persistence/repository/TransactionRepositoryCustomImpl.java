@@ -0,0 +1,200 @@
+package financemaster.persistence.repository;
+
+import financemaster.dto.TransactionView;
+import financemaster.persistence.entity.Category;
+import financemaster.persistence.entity.Transaction;
+import financemaster.persistence.entity.TransactionType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-API-Implementierung von TransactionRepositoryCustom.
+ * Jede Abfrage enthält nur die Bedingungen der tatsächlich gesetzten Filter.
+ */
+class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final EntityManager em;
+
+    TransactionRepositoryCustomImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public List<TransactionView> findViewsByFilter(Long userId, Long catId, LocalDate from, LocalDate to) {
+        return em.createQuery(selectViews(TransactionSpecifications.forFilter(userId, catId, from, to)))
+                 .getResultList();
+    }
+
+    @Override
+    public Stream<TransactionView> streamViewsByFilter(Long userId, Long catId, LocalDate from, LocalDate to) {
+        return em.createQuery(selectViews(TransactionSpecifications.forFilter(userId, catId, from, to)))
+                 .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                 .setHint(HibernateHints.HINT_CACHEABLE, false)
+                 .getResultStream();
+    }
+
+    @Override
+    public List<TransactionView> findViewPageByFilter(Long userId, Long catId, LocalDate from, LocalDate to,
+                                                      LocalDate afterDate, Long afterId, int limit) {
+        Specification<Transaction> spec = TransactionSpecifications.forFilter(userId, catId, from, to);
+        if (afterDate != null && afterId != null) {
+            spec = spec.and(TransactionSpecifications.after(afterDate, afterId));
+        }
+        return em.createQuery(selectViews(spec))
+                 .setMaxResults(limit)
+                 .getResultList();
+    }
+
+    @Override
+    public List<TransactionView> findViewsByIds(Long userId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery(selectViews(TransactionSpecifications.ownedWithIds(userId, ids)))
+                 .getResultList();
+    }
+
+    @Override
+    public AmountTotals calculateFinancialSummary(Long userId, Long catId, LocalDate from, LocalDate to) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<Transaction> t = q.from(Transaction.class);
+
+        q.multiselect(sumOfType(cb, t, TransactionType.INCOME).alias("inc"),
+                      sumOfType(cb, t, TransactionType.EXPENSE).alias("exp"))
+         .where(TransactionSpecifications.forFilter(userId, catId, from, to).toPredicate(t, q, cb));
+
+        Tuple row = em.createQuery(q).getSingleResult();
+        // Null-Safe: SUM liefert NULL, wenn keine Zeilen passen
+        Long inc = row.get("inc", Long.class);
+        Long exp = row.get("exp", Long.class);
+        return new AmountTotals(inc != null ? inc : 0L, exp != null ? exp : 0L);
+    }
+
+    @Override
+    public List<DailyTotal> sumByDay(Specification<Transaction> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<DailyTotal> q = cb.createQuery(DailyTotal.class);
+        Root<Transaction> t = q.from(Transaction.class);
+        Expression<Long> catId = t.get("category").get("id");
+
+        q.select(cb.construct(DailyTotal.class,
+                        catId, t.get("date"), t.get("type"), cb.sum(t.<Long>get("amountMinor")), cb.count(t)))
+         .where(spec.toPredicate(t, q, cb))
+         .groupBy(catId, t.get("date"), t.get("type"));
+        return em.createQuery(q).getResultList();
+    }
+
+    @Override
+    public List<PeriodTotal> sumPerDate(Long userId, Long catId, LocalDate from, LocalDate to) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<Transaction> t = q.from(Transaction.class);
+        Expression<LocalDate> date = t.get("date");
+
+        q.multiselect(date.alias("day"),
+                      sumOfType(cb, t, TransactionType.INCOME).alias("inc"),
+                      sumOfType(cb, t, TransactionType.EXPENSE).alias("exp"))
+         .where(TransactionSpecifications.forFilter(userId, catId, from, to).toPredicate(t, q, cb),
+                cb.isNotNull(date))
+         .groupBy(date)
+         .orderBy(cb.asc(date));
+
+        return em.createQuery(q).getResultList().stream()
+                 .map(row -> new PeriodTotal(row.get("day", LocalDate.class),
+                                             row.get("inc", Long.class),
+                                             row.get("exp", Long.class)))
+                 .toList();
+    }
+
+    @Override
+    public List<CategoryTotal> sumPerCategory(Long userId, LocalDate from, LocalDate to,
+                                              CategoryTotal.SortBy sortBy, Integer limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Tuple> q = cb.createTupleQuery();
+        Root<Transaction> t = q.from(Transaction.class);
+        Join<Transaction, Category> c = t.join("category", JoinType.LEFT);
+
+        Expression<Long> inc = sumOfType(cb, t, TransactionType.INCOME);
+        Expression<Long> exp = sumOfType(cb, t, TransactionType.EXPENSE);
+        Expression<Long> count = cb.count(t);
+        Expression<Long> sortKey = switch (sortBy) {
+            case INCOME -> inc;
+            case EXPENSE -> exp;
+            case COUNT -> count;
+        };
+
+        q.multiselect(c.get("id").alias("id"), c.get("name").alias("name"),
+                      inc.alias("inc"), exp.alias("exp"), count.alias("cnt"))
+         .where(TransactionSpecifications.forFilter(userId, null, from, to).toPredicate(t, q, cb))
+         .groupBy(c.get("id"), c.get("name"))
+         .orderBy(cb.desc(sortKey), cb.asc(c.get("name")));
+
+        TypedQuery<Tuple> query = em.createQuery(q);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList().stream()
+                    .map(row -> new CategoryTotal(row.get("id", Long.class), row.get("name", String.class),
+                                                  row.get("inc", Long.class), row.get("exp", Long.class),
+                                                  row.get("cnt", Long.class)))
+                    .toList();
+    }
+
+    @Override
+    public int deleteMatching(Specification<Transaction> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<Transaction> delete = cb.createCriteriaDelete(Transaction.class);
+        Root<Transaction> t = delete.from(Transaction.class);
+        delete.where(spec.toPredicate(t, null, cb));
+
+        // Wie @Modifying(flushAutomatically = true, clearAutomatically = true): Das DELETE läuft
+        // am Persistence-Context vorbei, geladene Entities wären danach veraltet.
+        em.flush();
+        int deleted = em.createQuery(delete).executeUpdate();
+        em.clear();
+        return deleted;
+    }
+
+    /**
+     * SELECT new TransactionView(t.id, t.date, ..., c.id, c.name)
+     * FROM Transaction t LEFT JOIN t.category c WHERE <spec> ORDER BY t.date DESC, t.id DESC
+     */
+    private CriteriaQuery<TransactionView> selectViews(Specification<Transaction> spec) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<TransactionView> q = cb.createQuery(TransactionView.class);
+        Root<Transaction> t = q.from(Transaction.class);
+        Join<Transaction, Category> c = t.join("category", JoinType.LEFT);
+        return q.select(cb.construct(TransactionView.class,
+                        t.get("id"), t.get("date"), t.get("amountMinor"), t.get("type"), t.get("description"),
+                        c.get("id"), c.get("name")))
+                .where(spec.toPredicate(t, q, cb))
+                .orderBy(cb.desc(t.get("date")), cb.desc(t.get("id")));
+    }
+
+    /**
+     * SUM(CASE WHEN t.type = :type THEN t.amountMinor ELSE 0 END)
+     */
+    private static Expression<Long> sumOfType(CriteriaBuilder cb, Root<Transaction> t, TransactionType type) {
+        return cb.sum(cb.<Long>selectCase()
+                .when(cb.equal(t.get("type"), type), t.<Long>get("amountMinor"))
+                .otherwise(0L));
+    }
+}
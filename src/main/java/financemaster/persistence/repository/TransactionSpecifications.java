@@ -0,0 +1,61 @@
+package financemaster.persistence.repository;
+
+import financemaster.persistence.entity.Transaction;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Baut die WHERE-Bedingungen für Transaktions-Abfragen dynamisch zusammen.
+ * * Warum nicht "(:param IS NULL OR t.feld = :param)" in JPQL?
+ * Solche Sammel-Queries plant die Datenbank einmal generisch für alle Parameter-Kombinationen
+ * und kann dann keinen passenden Index nutzen. Hier landen nur die Filter im SQL, die wirklich
+ * gesetzt sind - jede Kombination bekommt ihren eigenen, index-freundlichen Plan.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {}
+
+    /**
+     * Filter für User (Pflicht), Kategorie und Zeitraum (optional, jeweils inklusiv).
+     */
+    public static Specification<Transaction> forFilter(Long userId, Long catId, LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(4);
+            predicates.add(cb.equal(root.get("user").get("id"), userId));
+            if (catId != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), catId));
+            }
+            if (from != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"), from));
+            }
+            if (to != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("date"), to));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset-Bedingung: alle Einträge, die in der Sortierung (date DESC, id DESC)
+     * nach der Position (afterDate, afterId) kommen.
+     */
+    public static Specification<Transaction> after(LocalDate afterDate, Long afterId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("date"), afterDate),
+                cb.and(cb.equal(root.get("date"), afterDate), cb.lessThan(root.get("id"), afterId)));
+    }
+
+    /**
+     * Nur die Transaktionen mit den angegebenen IDs, die dem User gehören.
+     */
+    public static Specification<Transaction> ownedWithIds(Long userId, Collection<Long> ids) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("user").get("id"), userId),
+                root.get("id").in(ids));
+    }
+}
@@ -1,11 +1,59 @@
 package financemaster.persistence.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import financemaster.persistence.entity.User;
+import jakarta.persistence.LockModeType;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-	Optional<User> findByEmailIgnoreCase(String email);
-}
\ No newline at end of file
+	/**
+	 * Sucht über die Spalte email_normalized (eindeutiger Index), siehe User.normalizeEmail.
+	 */
+	Optional<User> findByEmailNormalized(String emailNormalized);
+
+	boolean existsByEmailNormalized(String emailNormalized);
+
+	/**
+	 * Aktueller Datenstand des Nutzers (nur die Spalte, kein Laden der Entity).
+	 */
+	@Query("SELECT u.dataVersion FROM User u WHERE u.id = :userId")
+	Optional<Long> findDataVersion(@Param("userId") Long userId);
+
+	/**
+	 * Zählt den Datenstand hoch; läuft in der Transaktion der auslösenden Änderung, falls vorhanden.
+	 */
+	@Transactional
+	@Modifying
+	@Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :userId")
+	int incrementDataVersion(@Param("userId") Long userId);
+
+	/**
+	 * Zählt den Datenstand aller Nutzer hoch (nach einem Neuaufbau der Monatssummen).
+	 */
+	@Modifying
+	@Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1")
+	int incrementAllDataVersions();
+
+	/**
+	 * Sperrt die Zeilen aller Nutzer in ID-Reihenfolge (wie beim Import mehrerer Nutzer),
+	 * damit ein Neuaufbau der Monatssummen nicht mit laufenden Buchungen überlappt.
+	 */
+	@Query(value = "SELECT id FROM users ORDER BY id FOR UPDATE", nativeQuery = true)
+	List<Long> lockAllIds();
+
+	/**
+	 * Sperrt die Zeile des Nutzers bis zum Ende der Transaktion (SELECT ... FOR UPDATE).
+	 * Damit laufen das Anlegen und das Fortschreiben seiner Kontostände nacheinander, siehe BalanceCheckpointService.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT u FROM User u WHERE u.id = :userId")
+	Optional<User> lockById(@Param("userId") Long userId);
+}
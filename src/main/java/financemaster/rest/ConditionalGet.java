@@ -0,0 +1,62 @@
+package financemaster.rest;
+
+import financemaster.service.DataVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Bedingte GET-Requests über den Datenstand des Nutzers (ETag / If-None-Match).
+ * * Lesende Endpunkte (Daten aus @Transactional(readOnly = true), ggf. vom Replikat):
+ * return conditionalGet.loadIfModified(request, userId, "transactions", () -> service.load(...), filter...);
+ * Datenstand und Daten kommen dann aus derselben Transaktion und damit aus derselben Datenbank.
+ * * Endpunkte, deren Daten in einer schreibenden Transaktion (Primär-Datenbank) entstehen:
+ * if (conditionalGet.notModified(request, userId, "balance-as-of", filter...)) return null;
+ */
+@Component
+public class ConditionalGet {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final DataVersionService dataVersions;
+    private final TransactionTemplate readOnlyTx;
+
+    public ConditionalGet(DataVersionService dataVersions, PlatformTransactionManager txManager) {
+        this.dataVersions = dataVersions;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Liest Datenstand und - falls sich etwas geändert hat - die Daten in einer lesenden Transaktion.
+     * Ohne sie ginge der Datenstand (außerhalb einer Transaktion) an die Primär-Datenbank, die Daten
+     * aber an das Replikat; ein nachhinkendes Replikat würde dann unter dem neuen ETag gespeichert.
+     * Der Loader muss ohne eigene schreibende Transaktion auskommen (er tritt dieser hier bei).
+     * @return null, wenn bereits 304 gesetzt ist (Handler gibt das direkt zurück), sonst die Daten
+     */
+    public <T> T loadIfModified(ServletWebRequest request, Long userId, String resource,
+                                Supplier<T> loader, Object... params) {
+        return readOnlyTx.execute(status -> notModified(request, userId, resource, params) ? null : loader.get());
+    }
+
+    /**
+     * Setzt ETag und Cache-Control (Browser soll immer nachfragen) und prüft If-None-Match.
+     * Das ETag hängt auch vom Accept-Header ab, da dieselbe URL als JSON oder CBOR kommen kann.
+     * Direkt nur für Daten von der Primär-Datenbank verwenden, sonst loadIfModified.
+     * @return true, wenn bereits 304 gesetzt ist und der Handler null zurückgeben soll
+     */
+    public boolean notModified(ServletWebRequest request, Long userId, String resource, Object... params) {
+        String etag = dataVersions.etag(userId, resource, request.getHeader(HttpHeaders.ACCEPT), Arrays.hashCode(params));
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            request.getResponse().setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return request.checkNotModified(etag);
+    }
+}
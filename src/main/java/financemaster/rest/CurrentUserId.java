@@ -0,0 +1,16 @@
+package financemaster.rest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Kennzeichnet einen Controller-Parameter (Long), der mit der ID des angemeldeten Nutzers
+ * aus der Session befüllt wird. Ohne gültige Session antwortet die API mit 401.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUserId {}
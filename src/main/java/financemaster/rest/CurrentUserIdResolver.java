@@ -0,0 +1,35 @@
+package financemaster.rest;
+
+import financemaster.service.SessionUsers;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Befüllt Parameter mit @CurrentUserId aus der bestehenden Session.
+ * Legt keine neue Session an und greift nicht auf die Datenbank zu.
+ */
+public class CurrentUserIdResolver implements HandlerMethodArgumentResolver {
+
+    private final SessionUsers sessionUsers;
+
+    public CurrentUserIdResolver(SessionUsers sessionUsers) {
+        this.sessionUsers = sessionUsers;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUserId.class)
+                && Long.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        return sessionUsers.requireUserId(request == null ? null : request.getSession(false));
+    }
+}
@@ -0,0 +1,37 @@
+package financemaster.rest.controller;
+
+import financemaster.config.DatabaseBusyException;
+import financemaster.config.HashingBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Controller-übergreifende Fehlerbehandlung.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private final long retryAfterSeconds;
+
+    public ApiExceptionHandler(@Value("${datasource.admission.retry-after:1}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Datenbank ausgelastet (siehe AdmissionControlledDataSource): 503 mit Retry-After,
+     * damit Clients kurz warten statt sofort erneut anzufragen.
+     * Greift auch, wenn die Exception von JPA/Spring als Ursache eingepackt wurde.
+     * Ebenso bei ausgelastetem Passwort-Hashing (siehe BoundedPasswordEncoder).
+     */
+    @ExceptionHandler({DatabaseBusyException.class, HashingBusyException.class})
+    public ResponseEntity<ProblemDetail> serverBusy(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+}
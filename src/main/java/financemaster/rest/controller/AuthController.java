@@ -1,13 +1,12 @@
 package financemaster.rest.controller;
 
+import financemaster.dto.SessionUser;
 import financemaster.persistence.entity.User;
-import financemaster.persistence.repository.UserRepository;
 import financemaster.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
 // DTOs (Data Transfer Objects) für die Eingabedaten
 // Records eignen sich hier perfekt für unveränderliche Datenpakete.
@@ -23,12 +22,10 @@ record RegisterRequest(String name, String email, String password) {}
 public class AuthController {
 
     private final AuthService authService;
-    private final UserRepository userRepository;
 
-    // Konstruktor-Injektion der benötigten Services und Repositories
-    public AuthController(AuthService authService, UserRepository userRepository) {
+    // Konstruktor-Injektion der benötigten Services
+    public AuthController(AuthService authService) {
         this.authService = authService;
-        this.userRepository = userRepository;
     }
 
     /**
@@ -45,28 +42,22 @@ public class AuthController {
      */
     @PostMapping("/register")
     public User register(@RequestBody RegisterRequest req, HttpServletRequest request) {
-        authService.register(req.name(), req.email(), req.password());
-        // Automatischer Login nach erfolgreicher Registrierung
-        return authService.login(req.email(), req.password(), request);
+        // Legt die Session direkt an (kein zweiter Login mit erneutem Passwortvergleich)
+        return authService.register(req.name(), req.email(), req.password(), request);
     }
 
     /**
      * Prüft, ob der aktuelle Benutzer eine aktive Sitzung hat.
      * Wird vom Frontend beim Start aufgerufen, um den Login-Status zu prüfen.
+     * Das Profil kommt aus der Session; mit passendem If-None-Match antwortet Spring mit 304.
      */
     @GetMapping("/me")
-    public User me(HttpSession session) {
-        // Die userId wird direkt aus der Session gelesen
-        Long userId = (Long) session.getAttribute("userId");
-        
-        if (userId == null) {
-            // Keine Session vorhanden -> 401 Unauthorized
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        }
-        
-        // Benutzer aus der Datenbank laden
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    public ResponseEntity<SessionUser> me(HttpServletRequest request) {
+        SessionUser user = authService.currentUser(request);
+        return ResponseEntity.ok()
+                .eTag(user.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(user);
     }
 
     /**
@@ -1,14 +1,19 @@
 package financemaster.rest.controller;
 
 import financemaster.persistence.entity.Category;
-import financemaster.persistence.entity.User;
 import financemaster.persistence.repository.CategoryRepository;
-import jakarta.servlet.http.HttpSession;
+import financemaster.rest.ConditionalGet;
+import financemaster.rest.CurrentUserId;
+import financemaster.service.CategoryService;
+import financemaster.service.CategoryService.DeleteStrategy;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * REST-Schnittstelle für Kategorien.
@@ -19,56 +24,52 @@ import java.util.List;
 public class CategoryController {
     
     private final CategoryRepository repo;
+    private final CategoryService categoryService;
+    private final ConditionalGet conditionalGet;
     
-    public CategoryController(CategoryRepository repo) { 
+    public CategoryController(CategoryRepository repo, CategoryService categoryService, ConditionalGet conditionalGet) { 
         this.repo = repo;
-    }
-
-    /**
-     * Validiert die Session und gibt die User-ID zurück.
-     */
-    private Long getUserIdOrThrow(HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
-        }
-        return userId;
+        this.categoryService = categoryService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
      * Gibt alle Kategorien des angemeldeten Benutzers zurück.
+     * Mit passendem If-None-Match (unveränderter Datenstand) antwortet der Server mit 304.
      */
     @GetMapping
-    public List<Category> get(HttpSession session) {
-        Long userId = getUserIdOrThrow(session);
-        return repo.findByUserId(userId);
+    public List<Category> get(@CurrentUserId Long userId, ServletWebRequest request) {
+        return conditionalGet.loadIfModified(request, userId, "categories", () -> repo.findByUserId(userId));
     }
 
     /**
      * Erstellt eine neue Kategorie und verknüpft sie mit dem aktuellen User.
      */
     @PostMapping
-    public Category create(@RequestBody Category cat, HttpSession session) {
-        Long userId = getUserIdOrThrow(session);
-        
-        // Verknüpfung zum User herstellen
-        User u = new User();
-        u.setId(userId);
-        cat.setUser(u);
-        
-        return repo.save(cat);
+    public Category create(@RequestBody Category cat, @CurrentUserId Long userId) {
+        return categoryService.createCategory(userId, cat);
     }
 
     /**
      * Löscht eine Kategorie, sofern sie dem Benutzer gehört.
+     * Hat die Kategorie noch Transaktionen, muss eine Strategie angegeben werden:
+     * ?strategy=reassign&targetId=5 (Transaktionen umhängen) oder ?strategy=cascade (mitlöschen).
+     * Ohne Strategie wird in diesem Fall mit 409 abgelehnt.
      */
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Long id, HttpSession session) {
-        Long userId = getUserIdOrThrow(session);
-        
-        // Zuerst prüfen, ob die Kategorie existiert und dem User gehört
-        repo.findById(id)
-            .filter(c -> c.getUser().getId().equals(userId))
-            .ifPresent(repo::delete);
+    public Map<String, Integer> delete(@PathVariable Long id,
+                                       @RequestParam(required = false) String strategy,
+                                       @RequestParam(required = false) Long targetId,
+                                       @CurrentUserId Long userId) {
+
+        DeleteStrategy s = DeleteStrategy.REJECT;
+        if (strategy != null && !strategy.isBlank()) {
+            try {
+                s = DeleteStrategy.valueOf(strategy.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unbekannte Strategie (erlaubt: reassign, cascade)");
+            }
+        }
+        return Map.of("transactions", categoryService.deleteCategory(userId, id, s, targetId));
     }
-}
\ No newline at end of file
+}
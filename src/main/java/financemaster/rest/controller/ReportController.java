@@ -0,0 +1,48 @@
+package financemaster.rest.controller;
+
+import financemaster.dto.ReportJobView;
+import financemaster.dto.ReportRequest;
+import financemaster.persistence.entity.ReportStatus;
+import financemaster.rest.CurrentUserId;
+import financemaster.service.ReportService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST-Schnittstelle für asynchron berechnete Berichte (Jahresabschluss).
+ * POST legt einen Auftrag an, GET /reports/{id} fragt Zustand und Ergebnis ab.
+ */
+@RestController
+@RequestMapping("/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+
+    public ReportController(ReportService reportService) {
+        this.reportService = reportService;
+    }
+
+    /**
+     * Startet einen Jahresabschluss: 202 mit Auftrag (Location: /reports/{id}), oder direkt 200
+     * mit Ergebnis, wenn derselbe Bericht für den aktuellen Datenstand schon fertig ist.
+     */
+    @PostMapping
+    public ResponseEntity<ReportJobView> create(@CurrentUserId Long userId, @Valid @RequestBody ReportRequest req) {
+        ReportJobView job = reportService.submitAnnual(userId, req.year());
+        return ResponseEntity.status(job.status() == ReportStatus.DONE ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                .location(URI.create("/reports/" + job.id()))
+                .body(job);
+    }
+
+    /**
+     * Zustand des Auftrags (PENDING, RUNNING, DONE mit result, FAILED mit error).
+     */
+    @GetMapping("/{id}")
+    public ReportJobView get(@CurrentUserId Long userId, @PathVariable Long id) {
+        return reportService.get(userId, id);
+    }
+}
@@ -1,14 +1,40 @@
 package financemaster.rest.controller;
 
+import financemaster.dto.BatchImportResult;
+import financemaster.dto.BulkDeleteRequest;
+import financemaster.dto.CategoryBreakdown;
+import financemaster.dto.CompactTransactionList;
+import financemaster.dto.RunningBalancePage;
+import financemaster.dto.SeriesPoint;
+import financemaster.dto.TransactionCursor;
 import financemaster.dto.TransactionDto;
+import financemaster.dto.TransactionPage;
+import financemaster.dto.TransactionView;
+import financemaster.persistence.entity.Money;
 import financemaster.persistence.entity.Transaction;
+import financemaster.persistence.repository.CategoryTotal;
+import financemaster.rest.ConditionalGet;
+import financemaster.rest.CurrentUserId;
+import financemaster.service.CashFlowSeriesService;
+import financemaster.service.TransactionExportService;
+import financemaster.service.TransactionImportService;
 import financemaster.service.TransactionService;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
@@ -24,21 +50,19 @@ import java.util.Map;
 public class TransactionController {
 
     private final TransactionService service;
+    private final TransactionExportService exportService;
+    private final TransactionImportService importService;
+    private final CashFlowSeriesService seriesService;
+    private final ConditionalGet conditionalGet;
 
-    public TransactionController(TransactionService service) {
+    public TransactionController(TransactionService service, TransactionExportService exportService,
+                                 TransactionImportService importService, CashFlowSeriesService seriesService,
+                                 ConditionalGet conditionalGet) {
         this.service = service;
-    }
-
-    /**
-     * Extrahiert die User-ID aus der Session.
-     * Schützt Endpunkte vor unbefugtem Zugriff (gibt 401 zurück, wenn nicht eingeloggt).
-     */
-    private Long getUserIdOrThrow(HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
-        if (userId == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bitte anmelden.");
-        }
-        return userId;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.seriesService = seriesService;
+        this.conditionalGet = conditionalGet;
     }
 
     /**
@@ -56,33 +80,242 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Liest den Cursor-Token der vorherigen Seite ein (leer = erste Seite).
+     */
+    private TransactionCursor parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return TransactionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiger Cursor.");
+        }
+    }
+
+    /**
+     * Rechnet einen Betrags-Filter in Cent um (null bleibt null).
+     */
+    private Long parseAmount(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        try {
+            return Money.toMinor(amount);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Liefert eine Liste aller Transaktionen des angemeldeten Nutzers.
      * Unterstützt Filterung nach Kategorie und Datum.
+     * Mit passendem If-None-Match (unveränderter Datenstand) antwortet der Server mit 304.
      */
     @GetMapping
-    public List<Transaction> get(HttpSession session,
+    public List<TransactionView> get(@CurrentUserId Long userId,
                                  @RequestParam(required = false) Long categoryId,
                                  @RequestParam(required = false) String from,
-                                 @RequestParam(required = false) String to) {
-        Long userId = getUserIdOrThrow(session);
+                                 @RequestParam(required = false) String to,
+                                 ServletWebRequest request) {
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+
+        return conditionalGet.loadIfModified(request, userId, "transactions",
+                () -> service.getFilteredTransactions(userId, categoryId, fromDate, toDate),
+                categoryId, fromDate, toDate);
+    }
+
+    /**
+     * Cursor-Modus der Transaktionsliste (aktiv, sobald "limit" übergeben wird).
+     * Liefert höchstens "limit" Einträge plus einen Cursor für die nächste Seite.
+     * Die Filter (Kategorie, Datum) funktionieren wie in der ungeteilten Liste.
+     */
+    @GetMapping(params = "limit")
+    public TransactionPage getPage(@CurrentUserId Long userId,
+                                   @RequestParam int limit,
+                                   @RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Long categoryId,
+                                   @RequestParam(required = false) String from,
+                                   @RequestParam(required = false) String to,
+                                   ServletWebRequest request) {
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+        TransactionCursor after = parseCursor(cursor);
+
+        return conditionalGet.loadIfModified(request, userId, "transactions-page",
+                () -> service.getTransactionPage(userId, categoryId, fromDate, toDate, after, limit),
+                limit, cursor, categoryId, from, to);
+    }
+
+    /**
+     * Cursor-Modus mit laufendem Kontostand ("balance" = Stand nach der jeweiligen Buchung).
+     * Der Kontostand gilt für das ganze Konto; ein Kategorie-Filter passt dazu nicht und wird abgelehnt.
+     */
+    @GetMapping(params = {"limit", "runningBalance=true"})
+    public RunningBalancePage getPageWithBalance(@CurrentUserId Long userId,
+                                                 @RequestParam int limit,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Long categoryId,
+                                                 @RequestParam(required = false) String from,
+                                                 @RequestParam(required = false) String to,
+                                                 ServletWebRequest request) {
+        if (categoryId != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Laufender Kontostand nur ohne Kategorie-Filter.");
+        }
+        // Nicht loadIfModified: Der laufende Kontostand kann Monatsend-Stände anlegen (Primär-Datenbank)
+        if (conditionalGet.notModified(request, userId, "transactions-balance", limit, cursor, from, to)) {
+            return null;
+        }
+        return service.getTransactionPageWithBalance(userId, parseDate(from), parseDate(to), parseCursor(cursor), limit);
+    }
+
+    /**
+     * Transaktionsliste im kompakten Format: Kategorien einmal als Nebentabelle, Zeilen als Arrays,
+     * Beträge in Cent (siehe CompactTransactionList). Mit "limit" im Cursor-Modus wie oben.
+     * Wie alle Antworten auch als CBOR (Accept: application/cbor) und ab
+     * server.compression.min-response-size gzip-komprimiert abrufbar.
+     */
+    @GetMapping("/compact")
+    public CompactTransactionList getCompact(@CurrentUserId Long userId,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Long categoryId,
+                                             @RequestParam(required = false) String from,
+                                             @RequestParam(required = false) String to,
+                                             ServletWebRequest request) {
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+
+        TransactionCursor after = parseCursor(cursor);
+
+        return conditionalGet.loadIfModified(request, userId, "transactions-compact", () -> {
+            if (limit == null) {
+                return CompactTransactionList.of(service.getFilteredTransactions(userId, categoryId, fromDate, toDate), null);
+            }
+            TransactionPage page = service.getTransactionPage(userId, categoryId, fromDate, toDate, after, limit);
+            return CompactTransactionList.of(page.items(), page.nextCursor());
+        }, limit, cursor, categoryId, fromDate, toDate);
+    }
+
+    /**
+     * Sucht in den Beschreibungen (Wörter und Wortanfänge, alle Begriffe müssen passen),
+     * optional nur Beträge im Bereich minAmount..maxAmount (Euro, inklusiv).
+     * Die Treffer kommen nach Relevanz sortiert, bei Gleichstand die neuesten zuerst.
+     */
+    @GetMapping("/search")
+    public List<TransactionView> search(@CurrentUserId Long userId,
+                                        @RequestParam(required = false) String q,
+                                        @RequestParam(required = false) BigDecimal minAmount,
+                                        @RequestParam(required = false) BigDecimal maxAmount,
+                                        @RequestParam(defaultValue = "50") int limit) {
+        return service.search(userId, q, parseAmount(minAmount), parseAmount(maxAmount), limit);
+    }
+
+    /**
+     * Exportiert die gefilterten Transaktionen als NDJSON (eine JSON-Zeile pro Buchung) oder CSV.
+     * Der Response wird gestreamt, während die Zeilen aus der Datenbank gelesen werden.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@CurrentUserId Long userId,
+                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false) Long categoryId,
+                                                        @RequestParam(required = false) String from,
+                                                        @RequestParam(required = false) String to) {
         LocalDate fromDate = parseDate(from);
         LocalDate toDate = parseDate(to);
 
-        return service.getFilteredTransactions(userId, categoryId, fromDate, toDate);
+        TransactionExportService.Format fmt;
+        try {
+            fmt = TransactionExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültiges Exportformat: " + format + ". Erlaubt sind: ndjson, csv");
+        }
+
+        StreamingResponseBody body = out -> exportService.export(userId, categoryId, fromDate, toDate, fmt, out);
+        boolean csv = fmt == TransactionExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                                 : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
     /**
      * Liefert zusammengefasste Finanzdaten (Einnahmen, Ausgaben, Bilanz).
-     * Wird für die Anzeige im Dashboard verwendet.
+     * Wird für die Anzeige im Dashboard verwendet. Bedingte Requests wie bei der Liste (304).
      */
     @GetMapping("/summary/balance")
-    public Map<String, Object> getSummary(HttpSession session,
+    public Map<String, Object> getSummary(@CurrentUserId Long userId,
                                           @RequestParam(required = false) Long categoryId,
                                           @RequestParam(required = false) String from,
-                                          @RequestParam(required = false) String to) {
-        Long userId = getUserIdOrThrow(session);
-        return service.getFinancialSummary(userId, categoryId, parseDate(from), parseDate(to));
+                                          @RequestParam(required = false) String to,
+                                          ServletWebRequest request) {
+        LocalDate fromDate = parseDate(from);
+        LocalDate toDate = parseDate(to);
+
+        return conditionalGet.loadIfModified(request, userId, "summary",
+                () -> service.getFinancialSummary(userId, categoryId, fromDate, toDate),
+                categoryId, fromDate, toDate);
+    }
+
+    /**
+     * Kontostand zu einem Stichtag: alle Buchungen bis einschließlich date (Standard: heute).
+     */
+    @GetMapping("/summary/balance-as-of")
+    public Map<String, Object> getBalanceAsOf(@CurrentUserId Long userId,
+                                              @RequestParam(required = false) String date,
+                                              ServletWebRequest request) {
+        LocalDate asOf = parseDate(date);
+        if (asOf == null) {
+            asOf = LocalDate.now();
+        }
+        // Nicht loadIfModified: Der Stichtags-Stand kann einen Monatsend-Stand anlegen (Primär-Datenbank)
+        if (conditionalGet.notModified(request, userId, "balance-as-of", asOf)) {
+            return null;
+        }
+        return service.getBalanceAsOf(userId, asOf);
+    }
+
+    /**
+     * Liefert Einnahmen, Ausgaben und Saldo pro Tag, Woche, Monat oder Jahr (Diagramme im Dashboard).
+     * Leere Abschnitte sind mit 0 enthalten. Filter wie bei /summary/balance.
+     */
+    @GetMapping("/summary/series")
+    public List<SeriesPoint> getSeries(@CurrentUserId Long userId,
+                                       @RequestParam(defaultValue = "month") String granularity,
+                                       @RequestParam(required = false) Long categoryId,
+                                       @RequestParam(required = false) String from,
+                                       @RequestParam(required = false) String to) {
+        CashFlowSeriesService.Granularity g;
+        try {
+            g = CashFlowSeriesService.Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültige Einteilung: " + granularity + ". Erlaubt sind: day, week, month, year");
+        }
+        return seriesService.series(userId, categoryId, parseDate(from), parseDate(to), g);
+    }
+
+    /**
+     * Einnahmen, Ausgaben und Anzahl pro Kategorie für einen Zeitraum (Kreisdiagramm im Dashboard).
+     * Buchungen ohne Kategorie erscheinen als Zeile mit categoryId = null.
+     * sort = expense (Standard) | income | count, jeweils absteigend; limit = nur die Top-K.
+     */
+    @GetMapping("/summary/by-category")
+    public List<CategoryBreakdown> getByCategory(@CurrentUserId Long userId,
+                                                 @RequestParam(defaultValue = "expense") String sort,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 @RequestParam(required = false) String from,
+                                                 @RequestParam(required = false) String to) {
+        CategoryTotal.SortBy sortBy;
+        try {
+            sortBy = CategoryTotal.SortBy.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ungültige Sortierung: " + sort + ". Erlaubt sind: expense, income, count");
+        }
+        return service.getCategoryBreakdown(userId, parseDate(from), parseDate(to), sortBy, limit);
     }
 
     /**
@@ -90,17 +323,55 @@ public class TransactionController {
      * Validiert den Input (@Valid) und prüft im Service die Kategorie-Berechtigung.
      */
     @PostMapping
-    public Transaction create(@Valid @RequestBody TransactionDto req, HttpSession session) {
-        Long userId = getUserIdOrThrow(session);
+    public Transaction create(@Valid @RequestBody TransactionDto req, @CurrentUserId Long userId) {
         return service.createTransaction(userId, req);
     }
 
+    /**
+     * Sammel-Import als JSON-Array (gleiches Format wie beim Einzel-Endpunkt).
+     * Ungültige Zeilen werden übersprungen und im Ergebnis aufgelistet.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BatchImportResult importBatch(@RequestBody List<TransactionDto> rows, @CurrentUserId Long userId) {
+        return importService.importRows(userId, rows);
+    }
+
+    /**
+     * Sammel-Import als CSV im Request-Body (Content-Type text/csv).
+     */
+    @PostMapping(value = "/batch", consumes = "text/csv")
+    public BatchImportResult importCsv(HttpServletRequest request, @CurrentUserId Long userId) throws IOException {
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        return importService.importCsv(userId, request.getReader());
+    }
+
+    /**
+     * Sammel-Import als CSV-Datei-Upload (multipart/form-data, Feld "file").
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public BatchImportResult importCsvFile(@RequestParam("file") MultipartFile file, @CurrentUserId Long userId) throws IOException {
+        return importService.importCsv(userId, new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Löscht mehrere Transaktionen auf einmal: per ID-Liste oder per Filter
+     * (Kategorie und/oder Zeitraum). Liefert die Anzahl gelöschter Zeilen, z.B. { "deleted": 42 }.
+     */
+    @PostMapping("/bulk-delete")
+    public Map<String, Integer> bulkDelete(@RequestBody BulkDeleteRequest req, @CurrentUserId Long userId) {
+        int deleted = req.ids() != null && !req.ids().isEmpty()
+                ? service.deleteTransactions(userId, req.ids())
+                : service.deleteByFilter(userId, req.categoryId(), req.from(), req.to());
+        return Map.of("deleted", deleted);
+    }
+
     /**
      * Löscht eine Transaktion anhand ihrer ID.
      */
     @DeleteMapping("/{id}")
-    public void delete(@PathVariable Long id, HttpSession session) {
-        Long userId = getUserIdOrThrow(session);
+    public void delete(@PathVariable Long id, @CurrentUserId Long userId) {
         service.deleteTransactionSafe(id, userId);
     }
 }
\ No newline at end of file
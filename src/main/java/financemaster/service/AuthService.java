@@ -1,9 +1,11 @@
 package financemaster.service;
 
+import financemaster.dto.SessionUser;
 import financemaster.persistence.entity.User;
 import financemaster.persistence.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -19,10 +21,12 @@ public class AuthService {
     
     private final UserRepository repo;
     private final PasswordEncoder encoder;
+    private final SessionUsers sessionUsers;
 
-    public AuthService(UserRepository repo, PasswordEncoder encoder) {
+    public AuthService(UserRepository repo, PasswordEncoder encoder, SessionUsers sessionUsers) {
         this.repo = repo;
         this.encoder = encoder;
+        this.sessionUsers = sessionUsers;
     }
 
     /**
@@ -34,14 +38,21 @@ public class AuthService {
      * @throws ResponseStatusException (401) wenn Login fehlschlägt
      */
     public User login(String email, String password, HttpServletRequest req) {
-        User user = repo.findByEmailIgnoreCase(email)
+        User user = repo.findByEmailNormalized(User.normalizeEmail(email))
             // Prüft das eingegebene Passwort gegen den Hash in der DB (BCrypt)
             .filter(u -> encoder.matches(password, u.getPassword()))
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "E-Mail oder Passwort falsch"));
+
+        // Wurden die BCrypt-Kosten erhöht, wird der Hash jetzt (Klartext ist bekannt) neu berechnet
+        if (encoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(encoder.encode(password));
+            user = repo.save(user);
+        }
         
         // Session erstellen: "true" bedeutet, erstelle eine neue, wenn keine existiert.
-        // Das Speichern der ID in der Session markiert den User als "eingeloggt".
-        req.getSession(true).setAttribute("userId", user.getId());
+        // Das Speichern der ID in der Session markiert den User als "eingeloggt",
+        // das Profil daneben beantwortet /auth/me ohne weiteren DB-Zugriff.
+        sessionUsers.signIn(req.getSession(true), user);
         
         return user;
     }
@@ -62,19 +73,34 @@ public class AuthService {
      * Wird genutzt, wenn ein Service-Call zwingend einen User braucht.
      */
     public Long requireSessionUserId(HttpServletRequest req) {
+        return sessionUsers.requireUserId(req.getSession(false));
+    }
+
+    /**
+     * Profil des angemeldeten Nutzers aus der Session (für /auth/me).
+     * Nur Sessions ohne Schnappschuss (z.B. aus der Zeit vor dessen Einführung)
+     * laden den Nutzer einmalig aus der Datenbank und legen ihn danach ab.
+     * @throws ResponseStatusException (401) ohne Session, (404) wenn der Nutzer nicht mehr existiert
+     */
+    public SessionUser currentUser(HttpServletRequest req) {
         HttpSession s = req.getSession(false);
-        if (s == null || s.getAttribute("userId") == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Sitzung abgelaufen oder nicht vorhanden");
+        Long userId = sessionUsers.requireUserId(s);
+        SessionUser profile = sessionUsers.profile(s);
+        if (profile != null && userId.equals(profile.id())) {
+            return profile;
         }
-        return (Long) s.getAttribute("userId");
+        User user = repo.findById(userId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        return sessionUsers.signIn(s, user);
     }
 
     /**
-     * Registriert einen neuen Benutzer.
+     * Registriert einen neuen Benutzer und meldet ihn direkt an.
+     * Das Passwort wird genau einmal gehasht; ein erneuter Login-Vergleich ist nicht nötig.
      * Wirft einen Fehler (409 Conflict), wenn die E-Mail bereits existiert.
      */
-    public User register(String name, String email, String password) {
-        if (repo.findByEmailIgnoreCase(email).isPresent()) {
+    public User register(String name, String email, String password, HttpServletRequest req) {
+        if (repo.existsByEmailNormalized(User.normalizeEmail(email))) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Diese E-Mail-Adresse wird bereits verwendet.");
         }
         
@@ -83,7 +109,15 @@ public class AuthService {
         u.setEmail(email);
         // Passwort wird niemals im Klartext gespeichert, wir hashen es hier.
         u.setPassword(encoder.encode(password));
-        
-        return repo.save(u);
+
+        try {
+            u = repo.saveAndFlush(u);
+        } catch (DataIntegrityViolationException e) {
+            // Gleichzeitige Registrierung mit derselben Adresse (eindeutiger Index email_normalized)
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Diese E-Mail-Adresse wird bereits verwendet.");
+        }
+
+        sessionUsers.signIn(req.getSession(true), u);
+        return u;
     }
-}
\ No newline at end of file
+}
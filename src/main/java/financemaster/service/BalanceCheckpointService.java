@@ -0,0 +1,137 @@
+package financemaster.service;
+
+import financemaster.persistence.entity.BalanceCheckpoint;
+import financemaster.persistence.entity.TransactionType;
+import financemaster.persistence.repository.AmountTotals;
+import financemaster.persistence.repository.BalanceCheckpointRepository;
+import financemaster.persistence.repository.CheckpointBalance;
+import financemaster.persistence.repository.MonthlyRollupRepository;
+import financemaster.persistence.repository.TransactionRepository;
+import financemaster.persistence.repository.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Kontostand zu einem Stichtag über Monatsend-Stände (BalanceCheckpoint).
+ * * Lesen: Stand zum Ende des Vormonats + Buchungen seit dem Monatsersten bis zum Stichtag.
+ * Fehlt der Stand, wird er einmal aus dem nächstälteren Stand und den Monatssummen dazwischen
+ * angelegt; danach kostet eine Abfrage nur noch die Buchungen des angebrochenen Monats.
+ * * Schreiben: Jede Buchung ändert alle Stände ab ihrem Datum (ein UPDATE pro betroffenem Monat).
+ * * Gleichzeitigkeit: Anlegen und Fortschreiben sperren zuerst die User-Zeile. Ohne die Sperre könnte
+ * eine parallele Buchung zwischen dem Lesen der Monatssummen und dem INSERT des neuen Stands
+ * committen und in keinem der beiden auftauchen.
+ */
+@Service
+public class BalanceCheckpointService {
+
+    private final BalanceCheckpointRepository checkpointRepo;
+    private final MonthlyRollupRepository rollupRepo;
+    private final TransactionRepository transactionRepo;
+    private final UserRepository userRepo;
+
+    public BalanceCheckpointService(BalanceCheckpointRepository checkpointRepo, MonthlyRollupRepository rollupRepo,
+                                    TransactionRepository transactionRepo, UserRepository userRepo) {
+        this.checkpointRepo = checkpointRepo;
+        this.rollupRepo = rollupRepo;
+        this.transactionRepo = transactionRepo;
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * Vorzeichen im Kontostand: Einnahmen positiv, Ausgaben negativ.
+     */
+    public static long signed(TransactionType type, long amountMinor) {
+        return type == TransactionType.INCOME ? amountMinor : -amountMinor;
+    }
+
+    /**
+     * Trägt eine Änderung des Kontostands am Tag date in alle späteren Stände ein.
+     * Muss in der Transaktion laufen, die auch die Buchung schreibt bzw. löscht.
+     */
+    @Transactional
+    public void record(Long userId, LocalDate date, long delta) {
+        if (date != null) {
+            record(userId, Map.of(date, delta));
+        }
+    }
+
+    /**
+     * Wie record, für viele Tage auf einmal (Import, Bulk-Delete): Die Änderungen werden pro Monat
+     * zusammengefasst, Buchungen ohne Datum zählen nicht zum Kontostand.
+     */
+    @Transactional
+    public void record(Long userId, Map<LocalDate, Long> deltas) {
+        TreeMap<LocalDate, Long> perMonth = new TreeMap<>();
+        deltas.forEach((date, delta) -> {
+            if (date != null && delta != 0) {
+                perMonth.merge(monthEnd(date), delta, Long::sum);
+            }
+        });
+        if (perMonth.isEmpty()) {
+            return;
+        }
+        userRepo.lockById(userId);
+        perMonth.forEach((monthEnd, delta) -> checkpointRepo.addFrom(userId, monthEnd, delta));
+    }
+
+    /**
+     * Kontostand (Cent) nach allen Buchungen bis einschließlich date.
+     */
+    @Transactional
+    public long balanceAsOf(Long userId, LocalDate date) {
+        LocalDate checkpoint = date.withDayOfMonth(1).minusDays(1);
+        CheckpointBalance latest = latest(userId, checkpoint);
+        long base = latest != null && latest.monthEnd().equals(checkpoint)
+                ? latest.balance()
+                : createCheckpoint(userId, checkpoint);
+        return base + transactionRepo.calculateFinancialSummary(userId, null, checkpoint.plusDays(1), date).balance();
+    }
+
+    /**
+     * Verwirft alle Stände, z.B. nach einem Neuaufbau der Monatssummen; sie entstehen beim
+     * nächsten Abruf neu.
+     */
+    @Transactional
+    public void clear() {
+        checkpointRepo.deleteAllInBatch();
+    }
+
+    /**
+     * Legt den Stand zum Monatsende an: nächstälterer Stand + Monatssummen der Monate dazwischen.
+     */
+    private long createCheckpoint(Long userId, LocalDate monthEnd) {
+        userRepo.lockById(userId);
+        // Nach der Sperre erneut lesen: Eine parallele Anfrage kann den Stand schon angelegt haben
+        CheckpointBalance previous = latest(userId, monthEnd);
+        if (previous != null && previous.monthEnd().equals(monthEnd)) {
+            return previous.balance();
+        }
+
+        LocalDate fromMonth = previous != null ? previous.monthEnd().plusDays(1) : null;
+        AmountTotals months = rollupRepo.sumRollups(userId, null, fromMonth, monthEnd.withDayOfMonth(1));
+        long balance = (previous != null ? previous.balance() : 0L) + months.balance();
+
+        BalanceCheckpoint cp = new BalanceCheckpoint();
+        cp.setUserId(userId);
+        cp.setMonthEnd(monthEnd);
+        cp.setBalanceMinor(balance);
+        checkpointRepo.save(cp);
+        return balance;
+    }
+
+    private CheckpointBalance latest(Long userId, LocalDate date) {
+        List<CheckpointBalance> rows = checkpointRepo.findLatest(userId, date, PageRequest.of(0, 1));
+        return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    private static LocalDate monthEnd(LocalDate date) {
+        return date.with(TemporalAdjusters.lastDayOfMonth());
+    }
+}
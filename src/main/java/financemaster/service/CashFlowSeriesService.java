@@ -0,0 +1,119 @@
+package financemaster.service;
+
+import financemaster.dto.SeriesPoint;
+import financemaster.persistence.entity.Money;
+import financemaster.persistence.repository.PeriodTotal;
+import financemaster.persistence.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Cashflow-Zeitreihe für die Dashboard-Diagramme: Einnahmen, Ausgaben und Saldo pro Abschnitt.
+ * * Die Datenbank liefert bereits verdichtete Werte:
+ * - DAY/WEEK: ein GROUP BY über das Buchungsdatum (höchstens eine Zeile pro Tag)
+ * - MONTH/YEAR: Monatssummen aus den Rollups, nur angeschnittene Randmonate aus den Einzelbuchungen
+ * Wochen und Jahre werden daraus in Java zusammengefasst; Abschnitte ohne Buchungen
+ * werden mit 0 aufgefüllt, damit das Frontend die Reihe direkt zeichnen kann.
+ */
+@Service
+public class CashFlowSeriesService {
+
+    public enum Granularity { DAY, WEEK, MONTH, YEAR }
+
+    private final TransactionRepository transactionRepo;
+    private final SummaryRollupService rollupService;
+    private final int maxBuckets;
+
+    public CashFlowSeriesService(TransactionRepository transactionRepo, SummaryRollupService rollupService,
+                                 @Value("${transactions.series.max-buckets:1000}") int maxBuckets) {
+        this.transactionRepo = transactionRepo;
+        this.rollupService = rollupService;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Berechnet die Zeitreihe für den Filter (gleiche Filter wie /summary/balance).
+     * Ohne from/to beginnt bzw. endet die Reihe beim ersten bzw. letzten Abschnitt mit Buchungen.
+     */
+    @Transactional(readOnly = true)
+    public List<SeriesPoint> series(Long userId, Long catId, LocalDate from, LocalDate to, Granularity granularity) {
+        List<PeriodTotal> rows = switch (granularity) {
+            case DAY, WEEK -> transactionRepo.sumPerDate(userId, catId, from, to);
+            case MONTH, YEAR -> rollupService.summarizePerMonth(userId, catId, from, to);
+        };
+
+        TreeMap<LocalDate, long[]> buckets = new TreeMap<>();
+        for (PeriodTotal row : rows) {
+            long[] acc = buckets.computeIfAbsent(bucketStart(row.start(), granularity), k -> new long[2]);
+            acc[0] += row.income();
+            acc[1] += row.expense();
+        }
+
+        LocalDate first = from != null ? bucketStart(from, granularity) : firstKey(buckets);
+        LocalDate last = to != null ? bucketStart(to, granularity) : lastKey(buckets);
+        if (first == null || last == null || first.isAfter(last)) {
+            return List.of();
+        }
+        long count = bucketCount(first, last, granularity);
+        if (count > maxBuckets) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Zeitraum zu groß: " + count + " Abschnitte (max. " + maxBuckets + "). Bitte gröbere Einteilung oder kürzeren Zeitraum wählen.");
+        }
+
+        List<SeriesPoint> points = new ArrayList<>((int) count);
+        for (LocalDate start = first; !start.isAfter(last); start = next(start, granularity)) {
+            long[] acc = buckets.get(start);
+            long inc = acc != null ? acc[0] : 0;
+            long exp = acc != null ? acc[1] : 0;
+            points.add(new SeriesPoint(start, Money.toDecimal(inc), Money.toDecimal(exp), Money.toDecimal(inc - exp)));
+        }
+        return points;
+    }
+
+    private static LocalDate bucketStart(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    private static LocalDate next(LocalDate start, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+            case YEAR -> start.plusYears(1);
+        };
+    }
+
+    private static long bucketCount(LocalDate first, LocalDate last, Granularity granularity) {
+        ChronoUnit unit = switch (granularity) {
+            case DAY -> ChronoUnit.DAYS;
+            case WEEK -> ChronoUnit.WEEKS;
+            case MONTH -> ChronoUnit.MONTHS;
+            case YEAR -> ChronoUnit.YEARS;
+        };
+        return unit.between(first, last) + 1;
+    }
+
+    private static LocalDate firstKey(TreeMap<LocalDate, long[]> buckets) {
+        return buckets.isEmpty() ? null : buckets.firstKey();
+    }
+
+    private static LocalDate lastKey(TreeMap<LocalDate, long[]> buckets) {
+        return buckets.isEmpty() ? null : buckets.lastKey();
+    }
+}
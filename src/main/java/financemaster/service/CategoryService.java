@@ -0,0 +1,162 @@
+package financemaster.service;
+
+import financemaster.persistence.entity.Category;
+import financemaster.persistence.entity.User;
+import financemaster.persistence.repository.CategoryRepository;
+import financemaster.persistence.repository.TransactionRepository;
+import financemaster.persistence.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Anlegen und Löschen von Kategorien; beides meldet UserDataChangedEvent (Caches, Datenstand).
+ * * Löschen inklusive Umgang mit den zugehörigen Transaktionen.
+ * Kategorien mit Buchungen lassen sich wegen des Foreign Keys nicht einfach löschen,
+ * deshalb gibt es zwei Strategien:
+ * - REASSIGN: alle Buchungen mit einem UPDATE einer anderen Kategorie zuordnen
+ * - CASCADE: alle Buchungen blockweise mitlöschen
+ */
+@Service
+public class CategoryService {
+
+    public enum DeleteStrategy { REJECT, REASSIGN, CASCADE }
+
+    private static final String CONCURRENT_CHANGE =
+            "Kategorie hat während des Löschens neue Transaktionen erhalten. Bitte erneut versuchen.";
+
+    private final CategoryRepository categoryRepo;
+    private final TransactionRepository transactionRepo;
+    private final TransactionService transactionService;
+    private final SummaryRollupService rollupService;
+    private final UserRepository userRepo;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
+    private final int cascadeChunkSize;
+
+    public CategoryService(CategoryRepository categoryRepo, TransactionRepository transactionRepo,
+                           TransactionService transactionService, SummaryRollupService rollupService,
+                           UserRepository userRepo, ApplicationEventPublisher events, PlatformTransactionManager txManager,
+                           @Value("${categories.cascade-chunk-size:5000}") int cascadeChunkSize) {
+        this.categoryRepo = categoryRepo;
+        this.transactionRepo = transactionRepo;
+        this.transactionService = transactionService;
+        this.rollupService = rollupService;
+        this.userRepo = userRepo;
+        this.events = events;
+        this.tx = new TransactionTemplate(txManager);
+        this.cascadeChunkSize = cascadeChunkSize;
+    }
+
+    /**
+     * Legt eine Kategorie für den User an.
+     */
+    @Transactional
+    public Category createCategory(Long userId, Category cat) {
+        User u = new User();
+        u.setId(userId);
+        cat.setUser(u);
+
+        Category saved = categoryRepo.save(cat);
+        events.publishEvent(new UserDataChangedEvent(userId));
+        return saved;
+    }
+
+    /**
+     * Löscht eine Kategorie des Users.
+     * Fremde oder unbekannte Kategorien werden ignoriert (wie bisher).
+     * @param targetId Zielkategorie, nur bei REASSIGN
+     * @return Anzahl verschobener bzw. gelöschter Transaktionen
+     */
+    public int deleteCategory(Long userId, Long id, DeleteStrategy strategy, Long targetId) {
+        boolean owned = categoryRepo.findById(id)
+                .filter(c -> c.getUser().getId().equals(userId))
+                .isPresent();
+        if (!owned) {
+            return 0;
+        }
+
+        int affected = switch (strategy) {
+            case REJECT -> {
+                if (transactionRepo.existsByCategoryId(id)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Kategorie enthält noch Transaktionen. Bitte strategy=reassign&targetId=... oder strategy=cascade angeben.");
+                }
+                yield 0;
+            }
+            case REASSIGN -> reassign(userId, id, targetId);
+            case CASCADE -> cascade(userId, id);
+        };
+
+        // Während Umhängen/Mitlöschen können neue Buchungen in die Kategorie kommen; dann 409 statt FK-Fehler
+        try {
+            tx.executeWithoutResult(status -> {
+                if (transactionRepo.existsByCategoryId(id)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, CONCURRENT_CHANGE);
+                }
+                rollupService.dropCategory(userId, id);
+                categoryRepo.deleteOwned(id, userId);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Buchung zwischen Prüfung und DELETE committed
+            throw new ResponseStatusException(HttpStatus.CONFLICT, CONCURRENT_CHANGE);
+        }
+        events.publishEvent(new UserDataChangedEvent(userId));
+        return affected;
+    }
+
+    /**
+     * Hängt alle Buchungen in einem UPDATE um und verschiebt die Monatssummen mit.
+     * Sperrt zuerst die User-Zeile, dann die Buchungen - dieselbe Reihenfolge wie beim Löschen
+     * (TransactionService.deleteMatching), sonst drohen Deadlocks. Der Datenstand wird in derselben
+     * Transaktion erhöht, denn das Umhängen bleibt auch bestehen, wenn das Löschen danach mit 409 endet.
+     */
+    private int reassign(Long userId, Long sourceId, Long targetId) {
+        if (targetId == null || targetId.equals(sourceId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bitte eine andere Zielkategorie (targetId) angeben.");
+        }
+        Category target = categoryRepo.findById(targetId)
+                .filter(c -> c.getUser().getId().equals(userId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Zielkategorie nicht gefunden oder Zugriff verweigert"));
+
+        Integer moved = tx.execute(status -> {
+            userRepo.lockById(userId);
+            int n = transactionRepo.reassignCategory(userId, sourceId, target);
+            rollupService.moveCategory(userId, sourceId, targetId);
+            if (n > 0) {
+                events.publishEvent(new UserDataChangedEvent(userId));
+            }
+            return n;
+        });
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Löscht die Buchungen in Blöcken, jeder Block in einer eigenen kurzen DB-Transaktion.
+     * So bleiben Sperren kurz und es werden nie mehr als die IDs eines Blocks geladen.
+     * Ende erst, wenn keine IDs mehr gefunden werden: Ein Block kann 0 Zeilen löschen, wenn
+     * ein paralleler Request dieselben Buchungen schon gelöscht hat.
+     */
+    private int cascade(Long userId, Long catId) {
+        int deleted = 0;
+        while (true) {
+            Integer n = tx.execute(status -> {
+                List<Long> ids = transactionRepo.findIdsByCategory(userId, catId, PageRequest.of(0, cascadeChunkSize));
+                return ids.isEmpty() ? null : transactionService.deleteTransactions(userId, ids);
+            });
+            if (n == null) {
+                return deleted;
+            }
+            deleted += n;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package financemaster.service;
+
+import financemaster.persistence.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Fortlaufender Datenstand pro Nutzer (Spalte users.data_version) für bedingte GET-Requests.
+ * * Jede Änderung an Transaktionen oder Kategorien veröffentlicht ein UserDataChangedEvent;
+ * der Stand wird dann in derselben Datenbank-Transaktion hochgezählt (bzw. direkt danach,
+ * wenn die Änderung ohne umschließende Transaktion lief). Ein Rollback nimmt ihn mit zurück.
+ * * Reihenfolge beim Lesen: erst den Stand, dann die Daten laden - in derselben Transaktion, damit
+ * beides aus derselben Datenbank kommt (Primär oder Replikat, siehe ConditionalGet.loadIfModified).
+ * Kommt dazwischen eine Änderung, passt das ETag zu einem älteren Stand und der nächste Request
+ * lädt neu - nie umgekehrt.
+ */
+@Service
+public class DataVersionService {
+
+    private final UserRepository userRepo;
+
+    public DataVersionService(UserRepository userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        userRepo.incrementDataVersion(event.userId());
+    }
+
+    /**
+     * Aktueller Stand; liest nur die Zeile des Nutzers, nicht die Transaktionen.
+     */
+    public long current(Long userId) {
+        return userRepo.findDataVersion(userId).orElse(0L);
+    }
+
+    /**
+     * ETag aus Ressource, Nutzer, Datenstand und den Parametern der Anfrage (Filter).
+     */
+    public String etag(Long userId, String resource, Object... params) {
+        return "\"" + resource + "-" + userId + "-" + current(userId)
+                + "-" + Integer.toHexString(Arrays.hashCode(params)) + "\"";
+    }
+}
@@ -0,0 +1,101 @@
+package financemaster.service;
+
+import financemaster.persistence.entity.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Umstellung bestehender Datenbanken von Gleitkomma-Beträgen auf Cent-Beträge.
+ * * Hibernate (ddl-auto=update) legt die neuen Spalten amount_minor bzw. total_minor mit
+ * Default 0 an, entfernt aber die alten Spalten nicht. Die Umstellung läuft nicht bei jedem Start,
+ * sondern nur auf ausdrücklichen Aufruf über "money.migration":
+ * - none: nichts tun (Standard)
+ * - backfill: Beträge aus transactions.amount gerundet nach amount_minor übernehmen (nur Zeilen,
+ *   die noch keinen Cent-Betrag haben), monthly_rollups.total nullable machen (alte Spalte ist
+ *   NOT NULL und würde neue Zeilen blockieren) und die Monatssummen neu aufbauen.
+ *   Wiederholbar, alte Spalten bleiben erhalten.
+ * - drop-legacy: die alten Spalten entfernen. Erst, wenn keine Instanz mit altem Code mehr läuft.
+ * * Ablauf: vor dem Start der neuen Instanzen einmal als eigener Prozess ohne Webserver
+ * ./gradlew bootRun --args='--money.migration=backfill --spring.main.web-application-type=none'
+ * danach (nach dem letzten alten Knoten) noch einmal backfill für zwischenzeitlich alt geschriebene
+ * Zeilen und schließlich drop-legacy. Läuft vor RollupMaintenanceRunner.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MoneyColumnMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MoneyColumnMigration.class);
+
+    private final JdbcTemplate jdbc;
+    private final SummaryRollupService rollupService;
+    private final String mode;
+
+    public MoneyColumnMigration(JdbcTemplate jdbc, SummaryRollupService rollupService,
+                                @Value("${money.migration:none}") String mode) {
+        this.jdbc = jdbc;
+        this.rollupService = rollupService;
+        this.mode = mode;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        switch (mode) {
+            case "none" -> { }
+            case "backfill" -> backfill();
+            case "drop-legacy" -> dropLegacy();
+            default -> log.warn("Unbekannter Wert für money.migration: {}", mode);
+        }
+    }
+
+    private void backfill() {
+        if (hasColumn("transactions", "amount")) {
+            long factor = Money.toMinor(BigDecimal.ONE);
+            int rows = jdbc.update("UPDATE transactions SET amount_minor = CAST(ROUND(amount * " + factor + ") AS BIGINT) " +
+                                   "WHERE amount IS NOT NULL AND amount_minor = 0");
+            log.info("{} Transaktionen auf Cent-Beträge umgestellt", rows);
+        }
+        if (hasColumn("monthly_rollups", "total")) {
+            jdbc.execute("ALTER TABLE monthly_rollups ALTER COLUMN total DROP NOT NULL");
+        }
+        log.info("Monatssummen nach Umstellung auf Cent neu aufgebaut: {}", rollupService.verify(true));
+    }
+
+    private void dropLegacy() {
+        if (hasColumn("transactions", "amount")) {
+            Integer pending = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM transactions WHERE amount IS NOT NULL AND amount <> 0 AND amount_minor = 0",
+                    Integer.class);
+            if (pending != null && pending > 0) {
+                log.warn("{} Transaktionen ohne Cent-Betrag, transactions.amount bleibt. Erst money.migration=backfill ausführen.",
+                        pending);
+                return;
+            }
+            jdbc.execute("ALTER TABLE transactions DROP COLUMN amount");
+            log.info("Spalte transactions.amount entfernt");
+        }
+        if (hasColumn("monthly_rollups", "total")) {
+            jdbc.execute("ALTER TABLE monthly_rollups DROP COLUMN total");
+            log.info("Spalte monthly_rollups.total entfernt");
+        }
+    }
+
+    private boolean hasColumn(String table, String column) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE LOWER(table_schema) = LOWER(CURRENT_SCHEMA) " +
+                "AND LOWER(table_name) = ? AND LOWER(column_name) = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,225 @@
+package financemaster.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import financemaster.dto.AnnualReport;
+import financemaster.dto.CategoryBreakdown;
+import financemaster.dto.ReportJobView;
+import financemaster.dto.SeriesPoint;
+import financemaster.dto.TransactionView;
+import financemaster.persistence.entity.Money;
+import financemaster.persistence.entity.ReportJob;
+import financemaster.persistence.entity.ReportStatus;
+import financemaster.persistence.repository.AmountTotals;
+import financemaster.persistence.repository.CategoryTotal;
+import financemaster.persistence.repository.ReportJobRepository;
+import financemaster.persistence.repository.TransactionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchrone Berichte (Jahresabschluss) für POST/GET /reports.
+ * * Ein Bericht liest mehrere Auswertungen hintereinander und würde im Request eine der wenigen
+ * gepoolten Verbindungen für Sekunden belegen. Stattdessen wird ein Auftrag (ReportJob) gespeichert
+ * und auf einem eigenen, begrenzten Thread-Pool in einer read-only Transaktion berechnet:
+ * höchstens "reports.workers" Berichte gleichzeitig, weitere warten in einer Warteschlange fester
+ * Größe ("reports.queue-capacity"), danach 503.
+ * * Ergebnisse werden als JSON am Auftrag gespeichert und über (User, Parameter, Datenstand)
+ * wiedergefunden: Dieselbe Anfrage liefert sofort das fertige Ergebnis, bis sich die Daten
+ * des Users ändern (DataVersionService). Laufende Aufträge werden ebenfalls wiederverwendet,
+ * sofern sie nicht älter als "reports.stale-after" sind (z.B. nach einem Neustart liegen geblieben).
+ */
+@Service
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
+    private final ReportJobRepository jobRepo;
+    private final TransactionRepository transactionRepo;
+    private final SummaryRollupService rollupService;
+    private final CashFlowSeriesService seriesService;
+    private final DataVersionService dataVersions;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final ThreadPoolExecutor executor;
+    private final Duration staleAfter;
+    private final int topExpenses;
+
+    public ReportService(ReportJobRepository jobRepo, TransactionRepository transactionRepo,
+                         SummaryRollupService rollupService, CashFlowSeriesService seriesService,
+                         DataVersionService dataVersions, ObjectMapper objectMapper,
+                         PlatformTransactionManager txManager, MeterRegistry registry,
+                         @Value("${reports.workers:1}") int workers,
+                         @Value("${reports.queue-capacity:20}") int queueCapacity,
+                         @Value("${reports.stale-after:10m}") Duration staleAfter,
+                         @Value("${reports.top-expenses:10}") int topExpenses) {
+        this.jobRepo = jobRepo;
+        this.transactionRepo = transactionRepo;
+        this.rollupService = rollupService;
+        this.seriesService = seriesService;
+        this.dataVersions = dataVersions;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.staleAfter = staleAfter;
+        this.topExpenses = topExpenses;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "report-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("reports.queued", executor, e -> e.getQueue().size())
+                .description("Berichte, die auf einen freien Worker warten")
+                .register(registry);
+        Gauge.builder("reports.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Gerade berechnete Berichte")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Legt einen Jahresabschluss-Auftrag an oder liefert einen vorhandenen für denselben Datenstand
+     * (fertig oder noch in Arbeit).
+     * @throws ResponseStatusException 503, wenn die Warteschlange voll ist
+     */
+    public ReportJobView submitAnnual(Long userId, int year) {
+        String params = "annual:" + year;
+        long version = dataVersions.current(userId);
+
+        Optional<ReportJob> existing = jobRepo.findFirstByUserIdAndParamsAndDataVersionAndStatusInOrderByIdDesc(
+                userId, params, version, EnumSet.of(ReportStatus.PENDING, ReportStatus.RUNNING, ReportStatus.DONE));
+        if (existing.isPresent() && !isStale(existing.get())) {
+            return toView(existing.get());
+        }
+
+        ReportJob job = new ReportJob();
+        job.setUserId(userId);
+        job.setParams(params);
+        job.setDataVersion(version);
+        job.setStatus(ReportStatus.PENDING);
+        job.setCreatedAt(Instant.now());
+        // Ohne umschließende Transaktion: Der Auftrag ist committed, bevor ein Worker ihn liest
+        ReportJob saved = jobRepo.save(job);
+        try {
+            executor.execute(() -> run(saved.getId(), userId, year));
+        } catch (RejectedExecutionException e) {
+            jobRepo.delete(saved);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Zu viele Berichte in Arbeit, bitte später erneut versuchen.");
+        }
+        return toView(saved);
+    }
+
+    /**
+     * Zustand bzw. Ergebnis eines Auftrags; fremde oder unbekannte IDs ergeben 404.
+     */
+    public ReportJobView get(Long userId, Long id) {
+        return jobRepo.findByIdAndUserId(id, userId)
+                .map(this::toView)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bericht nicht gefunden"));
+    }
+
+    /**
+     * Läuft auf dem Worker-Thread: rechnen, Ergebnis speichern, ältere Ergebnisse desselben Berichts entfernen.
+     */
+    private void run(Long jobId, Long userId, int year) {
+        ReportJob job = jobRepo.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(ReportStatus.RUNNING);
+        job = jobRepo.save(job);
+        try {
+            Computed computed = readOnlyTx.execute(status -> {
+                // Erst den Datenstand, dann die Daten lesen (siehe DataVersionService)
+                long version = dataVersions.current(userId);
+                return new Computed(version, computeAnnual(userId, year));
+            });
+            job.setDataVersion(computed.version());
+            job.setResult(objectMapper.writeValueAsString(computed.report()));
+            job.setStatus(ReportStatus.DONE);
+        } catch (Exception e) {
+            log.warn("Bericht {} fehlgeschlagen", jobId, e);
+            job.setStatus(ReportStatus.FAILED);
+            job.setError("Bericht konnte nicht erstellt werden.");
+        }
+        job.setFinishedAt(Instant.now());
+        jobRepo.save(job);
+        if (job.getStatus() == ReportStatus.DONE) {
+            jobRepo.deleteOlderResults(userId, job.getParams(), jobId, job.getDataVersion());
+        }
+    }
+
+    private record Computed(long version, AnnualReport report) {}
+
+    /**
+     * Summen und Monatsreihe kommen überwiegend aus den Monatssummen, Kategorien und größte
+     * Ausgaben aus je einer gruppierten bzw. sortierten Abfrage.
+     */
+    private AnnualReport computeAnnual(Long userId, int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = LocalDate.of(year, 12, 31);
+
+        AmountTotals totals = rollupService.summarize(userId, null, from, to);
+        List<CategoryBreakdown> categories = transactionRepo
+                .sumPerCategory(userId, from, to, CategoryTotal.SortBy.EXPENSE, null).stream()
+                .map(c -> new CategoryBreakdown(c.categoryId(), c.categoryName(),
+                        Money.toDecimal(c.income()), Money.toDecimal(c.expense()), c.count()))
+                .toList();
+        List<SeriesPoint> months = seriesService.series(userId, null, from, to, CashFlowSeriesService.Granularity.MONTH);
+        List<TransactionView> top = transactionRepo.findTopExpenses(userId, from, to, PageRequest.of(0, topExpenses));
+
+        return new AnnualReport(year, Money.toDecimal(totals.income()), Money.toDecimal(totals.expense()),
+                Money.toDecimal(totals.balance()), categories, months, top);
+    }
+
+    private boolean isStale(ReportJob job) {
+        return job.getStatus() != ReportStatus.DONE
+                && job.getCreatedAt().plus(staleAfter).isBefore(Instant.now());
+    }
+
+    private ReportJobView toView(ReportJob job) {
+        JsonNode result = null;
+        if (job.getStatus() == ReportStatus.DONE && job.getResult() != null) {
+            try {
+                result = objectMapper.readTree(job.getResult());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Gespeichertes Ergebnis von Bericht " + job.getId() + " ist ungültig", e);
+            }
+        }
+        return new ReportJobView(job.getId(), job.getStatus(), job.getCreatedAt(), job.getFinishedAt(),
+                result, job.getError());
+    }
+}
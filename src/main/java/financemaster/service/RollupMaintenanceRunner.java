@@ -0,0 +1,57 @@
+package financemaster.service;
+
+import financemaster.persistence.repository.MonthlyRollupRepository;
+import financemaster.persistence.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prüft bzw. baut die Monatssummen auf ausdrücklichen Aufruf neu auf.
+ * Gesteuert über "rollups.maintenance":
+ * - none: nichts tun (Standard)
+ * - init: Tabelle einmalig befüllen, wenn sie leer ist, aber Transaktionen existieren
+ * - verify: Abweichungen nur melden
+ * - rebuild: Abweichungen melden und die Tabelle aus den Rohdaten neu aufbauen
+ * * Ein ApplicationRunner läuft erst, wenn der Webserver schon Anfragen annimmt; init und rebuild
+ * deshalb wie MoneyColumnMigration als eigenen Prozess ohne Webserver starten:
+ * ./gradlew bootRun --args='--rollups.maintenance=rebuild --spring.main.web-application-type=none'
+ * Der Neuaufbau sperrt dabei alle User-Zeilen, laufende Instanzen warten nur kurz (siehe SummaryRollupService.verify).
+ */
+@Component
+public class RollupMaintenanceRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupMaintenanceRunner.class);
+
+    private final SummaryRollupService rollupService;
+    private final MonthlyRollupRepository rollupRepo;
+    private final TransactionRepository transactionRepo;
+    private final String mode;
+
+    public RollupMaintenanceRunner(SummaryRollupService rollupService, MonthlyRollupRepository rollupRepo,
+                                   TransactionRepository transactionRepo,
+                                   @Value("${rollups.maintenance:none}") String mode) {
+        this.rollupService = rollupService;
+        this.rollupRepo = rollupRepo;
+        this.transactionRepo = transactionRepo;
+        this.mode = mode;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        switch (mode) {
+            case "none" -> { }
+            case "init" -> {
+                if (rollupRepo.count() == 0 && transactionRepo.count() > 0) {
+                    log.info("Monatssummen leer, baue sie aus den Transaktionen auf: {}", rollupService.verify(true));
+                }
+            }
+            case "verify" -> log.info("Abgleich der Monatssummen: {}", rollupService.verify(false));
+            case "rebuild" -> log.info("Neuaufbau der Monatssummen: {}", rollupService.verify(true));
+            default -> log.warn("Unbekannter Wert für rollups.maintenance: {}", mode);
+        }
+    }
+}
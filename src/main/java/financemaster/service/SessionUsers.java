@@ -0,0 +1,54 @@
+package financemaster.service;
+
+import financemaster.dto.SessionUser;
+import financemaster.persistence.entity.User;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Zentrale Stelle für den Zugriff auf den angemeldeten Nutzer in der HttpSession.
+ * Liest nur Session-Attribute, greift also nie auf die Datenbank zu.
+ * Wird von AuthService (Login) und dem @CurrentUserId-Resolver der Controller genutzt.
+ */
+@Component
+public class SessionUsers {
+
+    /** Session-Attribut mit der ID des angemeldeten Nutzers. */
+    public static final String USER_ID = "userId";
+    /** Session-Attribut mit dem Profil-Schnappschuss (SessionUser). */
+    public static final String PROFILE = "sessionUser";
+
+    /**
+     * Markiert die Session als angemeldet und legt das Profil ab.
+     * Auch aufzurufen, wenn sich der Nutzer-Datensatz ändert, damit /auth/me aktuell bleibt.
+     */
+    public SessionUser signIn(HttpSession session, User user) {
+        SessionUser profile = SessionUser.of(user);
+        session.setAttribute(USER_ID, user.getId());
+        session.setAttribute(PROFILE, profile);
+        return profile;
+    }
+
+    /**
+     * Liefert die User-ID aus der Session.
+     * @param session darf null sein (keine Session vorhanden)
+     * @throws ResponseStatusException (401) ohne angemeldeten Nutzer
+     */
+    public Long requireUserId(HttpSession session) {
+        Object userId = session == null ? null : session.getAttribute(USER_ID);
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Bitte anmelden.");
+        }
+        return (Long) userId;
+    }
+
+    /**
+     * Profil aus der Session oder null, wenn (noch) keines abgelegt wurde,
+     * z.B. bei Sessions, die vor Einführung des Schnappschusses entstanden sind.
+     */
+    public SessionUser profile(HttpSession session) {
+        return session == null ? null : (SessionUser) session.getAttribute(PROFILE);
+    }
+}
@@ -0,0 +1,86 @@
+package financemaster.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-Memory-Cache für Finanz-Zusammenfassungen, begrenzt nach Anzahl und Alter der Einträge.
+ * * Der Datenstand des Nutzers (DataVersionService) ist Teil des Schlüssels. Der Aufrufer liest
+ * ihn in derselben Transaktion wie die Summen und vor ihnen, also aus derselben Datenbank
+ * (Primär oder Replikat): Der Wert ist nie älter als sein Schlüssel. Nach einer Änderung
+ * sind alte Einträge unerreichbar, ohne dass Instanzen sich gegenseitig benachrichtigen müssen;
+ * ein nachhinkendes Replikat liefert weiter den alten Stand, aber nie als neuen.
+ */
+@Component
+public class SummaryCache {
+
+    private record Key(Long userId, long dataVersion, Long catId, LocalDate from, LocalDate to) {}
+
+    private final Cache<Key, Map<String, Object>> cache;
+
+    public SummaryCache(@Value("${transactions.summary-cache.max-size:10000}") long maxSize,
+                        @Value("${transactions.summary-cache.ttl:5m}") Duration ttl,
+                        MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Treffer/Fehlschläge/Verdrängungen als cache.* mit Tag cache=transactions.summary
+        CaffeineCacheMetrics.monitor(registry, cache, "transactions.summary");
+    }
+
+    /**
+     * Liefert die Zusammenfassung aus dem Cache oder berechnet sie über den Loader.
+     * @param dataVersion Datenstand, gelesen in derselben Transaktion wie die Daten des Loaders
+     */
+    public Map<String, Object> get(Long userId, long dataVersion, Long catId, LocalDate from, LocalDate to,
+                                   Supplier<Map<String, Object>> loader) {
+        return cache.get(new Key(userId, dataVersion, catId, from, to), k -> loader.get());
+    }
+
+    /**
+     * Verwirft alle Einträge eines Nutzers.
+     */
+    public void invalidateUser(Long userId) {
+        cache.asMap().keySet().removeIf(k -> k.userId().equals(userId));
+    }
+
+    /**
+     * Gibt den Speicher veralteter Einträge frei. Für die Korrektheit nicht nötig (der Datenstand
+     * im Schlüssel ändert sich), deshalb genügt es nach Abschluss der Transaktion.
+     */
+    @EventListener
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateUser(event.userId());
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateUser(event.userId());
+                }
+            });
+        }
+    }
+
+    /**
+     * Treffer, Fehlschläge und Verdrängungen seit dem Start.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,322 @@
+package financemaster.service;
+
+import financemaster.persistence.entity.MonthlyRollup;
+import financemaster.persistence.entity.Transaction;
+import financemaster.persistence.entity.TransactionType;
+import financemaster.persistence.repository.AmountTotals;
+import financemaster.persistence.repository.DailyTotal;
+import financemaster.persistence.repository.MonthlyRollupRepository;
+import financemaster.persistence.repository.PeriodTotal;
+import financemaster.persistence.repository.TransactionBatchInserter;
+import financemaster.persistence.repository.TransactionRepository;
+import financemaster.persistence.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Pflegt die Monatssummen (MonthlyRollup) und berechnet Zusammenfassungen daraus.
+ * * Schreiben: Jede Änderung an Transaktionen wird als Delta (+/- Betrag, +/- Anzahl)
+ * in derselben DB-Transaktion auf die passende Monatszeile addiert.
+ * * Lesen: Ganze Monate im angefragten Zeitraum kommen aus den Monatssummen,
+ * nur angeschnittene Randmonate werden aus den Einzelbuchungen summiert.
+ * * Alle Beträge sind Cent-Werte (long), gerechnet wird ohne Boxing und ohne Rundung.
+ * * Die Kontostände zum Monatsende (BalanceCheckpointService) werden an denselben Stellen mitgeführt.
+ * * Gleichzeitigkeit: Jede schreibende Methode sperrt zuerst die User-Zeile. Sonst könnten zwei erste
+ * Buchungen für denselben Schlüssel beide "0 Zeilen geändert" sehen und beide einfügen - mit
+ * Konflikt auf uk_monthly_rollups_key oder, bei Schlüsseln mit NULL (ohne Kategorie/Datum), mit
+ * doppelten Zeilen. Die Sperre kommt vor dem ersten UPDATE, damit die Reihenfolge (erst User-Zeile,
+ * dann Monatssummen) in allen Transaktionen gleich ist und keine Deadlocks entstehen.
+ */
+@Service
+public class SummaryRollupService {
+
+    /**
+     * Schlüssel einer Monatssumme. monthStart ist immer der Erste des Monats.
+     */
+    public record RollupKey(Long userId, Long categoryId, LocalDate monthStart, TransactionType type) {
+        static RollupKey of(Long userId, Long categoryId, LocalDate date, TransactionType type) {
+            return new RollupKey(userId, categoryId, date != null ? date.withDayOfMonth(1) : null, type);
+        }
+    }
+
+    /** Ergebnis eines Abgleichs der Monatssummen mit den Rohdaten. */
+    public record DriftReport(int expectedKeys, int missing, int mismatched, int orphaned, boolean repaired) {
+        public boolean hasDrift() {
+            return missing + mismatched + orphaned > 0;
+        }
+    }
+
+    private final MonthlyRollupRepository rollupRepo;
+    private final TransactionRepository transactionRepo;
+    private final BalanceCheckpointService checkpoints;
+    private final UserRepository userRepo;
+
+    public SummaryRollupService(MonthlyRollupRepository rollupRepo, TransactionRepository transactionRepo,
+                                BalanceCheckpointService checkpoints, UserRepository userRepo) {
+        this.rollupRepo = rollupRepo;
+        this.transactionRepo = transactionRepo;
+        this.checkpoints = checkpoints;
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * Trägt eine einzelne Transaktion ein (sign = 1) oder aus (sign = -1).
+     * Muss in der Transaktion laufen, die auch die Buchung schreibt bzw. löscht.
+     */
+    @Transactional
+    public void record(Transaction t, int sign) {
+        if (t.getType() == null) {
+            return;
+        }
+        Long catId = t.getCategory() != null ? t.getCategory().getId() : null;
+        userRepo.lockById(t.getUser().getId());
+        apply(RollupKey.of(t.getUser().getId(), catId, t.getDate(), t.getType()), sign * t.getAmountMinor(), sign);
+        checkpoints.record(t.getUser().getId(), t.getDate(),
+                sign * BalanceCheckpointService.signed(t.getType(), t.getAmountMinor()));
+    }
+
+    /**
+     * Trägt importierte Zeilen ein. Die Zeilen werden vorher pro Schlüssel zusammengefasst,
+     * sodass ein Import mit tausenden Zeilen nur ein Update pro betroffenem Monat auslöst.
+     */
+    @Transactional
+    public void recordImported(List<TransactionBatchInserter.Row> rows) {
+        Map<RollupKey, long[]> deltas = new HashMap<>();
+        Map<Long, Map<LocalDate, Long>> balanceDeltas = new HashMap<>();
+        for (TransactionBatchInserter.Row r : rows) {
+            long[] d = deltas.computeIfAbsent(RollupKey.of(r.userId(), r.categoryId(), r.date(), r.type()),
+                    k -> new long[2]);
+            d[0] += r.amountMinor();
+            d[1]++;
+            if (r.date() != null) {
+                balanceDeltas.computeIfAbsent(r.userId(), k -> new HashMap<>())
+                        .merge(r.date(), BalanceCheckpointService.signed(r.type(), r.amountMinor()), Long::sum);
+            }
+        }
+        // Nach User-ID sortiert sperren: Importe mehrerer Nutzer dürfen sich nicht gegenseitig blockieren
+        new TreeSet<>(deltas.keySet().stream().map(RollupKey::userId).toList()).forEach(userRepo::lockById);
+        deltas.forEach((key, d) -> apply(key, d[0], d[1]));
+        balanceDeltas.forEach(checkpoints::record);
+    }
+
+    /**
+     * Trägt per Bulk-Delete entfernte Transaktionen aus (Tagessummen vor dem Löschen).
+     */
+    @Transactional
+    public void recordRemoved(Long userId, List<DailyTotal> removed) {
+        Map<RollupKey, long[]> deltas = new HashMap<>();
+        Map<LocalDate, Long> balanceDeltas = new HashMap<>();
+        for (DailyTotal d : removed) {
+            if (d.type() == null || d.total() == null) {
+                continue;
+            }
+            long[] acc = deltas.computeIfAbsent(RollupKey.of(userId, d.categoryId(), d.date(), d.type()),
+                    k -> new long[2]);
+            acc[0] -= d.total();
+            acc[1] -= d.count();
+            if (d.date() != null) {
+                balanceDeltas.merge(d.date(), -BalanceCheckpointService.signed(d.type(), d.total()), Long::sum);
+            }
+        }
+        if (!deltas.isEmpty()) {
+            userRepo.lockById(userId);
+        }
+        deltas.forEach((key, d) -> apply(key, d[0], d[1]));
+        checkpoints.record(userId, balanceDeltas);
+    }
+
+    /**
+     * Verschiebt die Monatssummen einer Kategorie auf eine andere
+     * (nach dem Umhängen aller Buchungen per UPDATE).
+     */
+    @Transactional
+    public void moveCategory(Long userId, Long sourceId, Long targetId) {
+        userRepo.lockById(userId);
+        for (Object[] r : rollupRepo.findRowsByCategory(userId, sourceId)) {
+            apply(new RollupKey(userId, targetId, (LocalDate) r[0], (TransactionType) r[1]),
+                    ((Number) r[2]).longValue(), ((Number) r[3]).longValue());
+        }
+        rollupRepo.deleteByCategory(userId, sourceId);
+    }
+
+    /**
+     * Entfernt die Monatssummen einer gelöschten Kategorie.
+     */
+    @Transactional
+    public void dropCategory(Long userId, Long catId) {
+        rollupRepo.deleteByCategory(userId, catId);
+    }
+
+    /**
+     * UPDATE auf die bestehende Zeile, sonst INSERT. Nur unter der Sperre der User-Zeile aufrufen.
+     */
+    private void apply(RollupKey key, long amount, long count) {
+        int updated = rollupRepo.addToRollup(key.userId(), key.categoryId(), key.monthStart(), key.type(), amount, count);
+        if (updated == 0) {
+            MonthlyRollup r = new MonthlyRollup();
+            r.setUserId(key.userId());
+            r.setCategoryId(key.categoryId());
+            r.setMonthStart(key.monthStart());
+            r.setType(key.type());
+            r.setTotalMinor(amount);
+            r.setTxCount(count);
+            rollupRepo.save(r);
+        }
+    }
+
+    /**
+     * Berechnet Einnahmen und Ausgaben für den Filter.
+     * * Beispiel from=2024-01-15, to=2024-06-10:
+     * - Februar bis Mai kommen aus den Monatssummen (eine Zeile pro Monat/Kategorie/Typ)
+     * - 15.-31. Januar und 1.-10. Juni werden aus den Einzelbuchungen summiert
+     */
+    @Transactional(readOnly = true)
+    public AmountTotals summarize(Long userId, Long catId, LocalDate from, LocalDate to) {
+        LocalDate firstFull = firstFullMonth(from);
+        LocalDate lastFull = lastFullMonth(to);
+
+        if (firstFull != null && lastFull != null && firstFull.isAfter(lastFull)) {
+            // Kein ganzer Monat im Zeitraum -> direkt aus den Einzelbuchungen
+            return raw(userId, catId, from, to);
+        }
+
+        AmountTotals totals = rollupRepo.sumRollups(userId, catId, firstFull, lastFull);
+        if (from != null && from.isBefore(firstFull)) {
+            totals = totals.plus(raw(userId, catId, from, firstFull.minusDays(1)));
+        }
+        if (to != null && !lastFull.plusMonths(1).isAfter(to)) {
+            totals = totals.plus(raw(userId, catId, lastFull.plusMonths(1), to));
+        }
+        return totals;
+    }
+
+    /**
+     * Einnahmen und Ausgaben pro Monat (start = Monatserster), aufsteigend sortiert.
+     * Aufteilung wie bei summarize: ganze Monate aus den Monatssummen,
+     * angeschnittene Randmonate aus den Tagessummen der Einzelbuchungen.
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodTotal> summarizePerMonth(Long userId, Long catId, LocalDate from, LocalDate to) {
+        LocalDate firstFull = firstFullMonth(from);
+        LocalDate lastFull = lastFullMonth(to);
+
+        TreeMap<LocalDate, long[]> months = new TreeMap<>();
+        if (firstFull != null && lastFull != null && firstFull.isAfter(lastFull)) {
+            addPerDate(months, userId, catId, from, to);
+        } else {
+            for (PeriodTotal month : rollupRepo.sumRollupsPerMonth(userId, catId, firstFull, lastFull)) {
+                long[] acc = months.computeIfAbsent(month.start(), k -> new long[2]);
+                acc[0] += month.income();
+                acc[1] += month.expense();
+            }
+            if (from != null && from.isBefore(firstFull)) {
+                addPerDate(months, userId, catId, from, firstFull.minusDays(1));
+            }
+            if (to != null && !lastFull.plusMonths(1).isAfter(to)) {
+                addPerDate(months, userId, catId, lastFull.plusMonths(1), to);
+            }
+        }
+
+        List<PeriodTotal> result = new ArrayList<>(months.size());
+        months.forEach((month, acc) -> result.add(new PeriodTotal(month, acc[0], acc[1])));
+        return result;
+    }
+
+    private void addPerDate(Map<LocalDate, long[]> months, Long userId, Long catId, LocalDate from, LocalDate to) {
+        for (PeriodTotal day : transactionRepo.sumPerDate(userId, catId, from, to)) {
+            long[] acc = months.computeIfAbsent(day.start().withDayOfMonth(1), k -> new long[2]);
+            acc[0] += day.income();
+            acc[1] += day.expense();
+        }
+    }
+
+    /** Erster vollständig im Zeitraum liegender Monat (null = offen). */
+    private static LocalDate firstFullMonth(LocalDate from) {
+        return from == null ? null
+                : from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+    }
+
+    /** Letzter vollständig im Zeitraum liegender Monat (null = offen). */
+    private static LocalDate lastFullMonth(LocalDate to) {
+        return to == null ? null
+                : to.equals(to.with(TemporalAdjusters.lastDayOfMonth())) ? to.withDayOfMonth(1)
+                : to.withDayOfMonth(1).minusMonths(1);
+    }
+
+    private AmountTotals raw(Long userId, Long catId, LocalDate from, LocalDate to) {
+        return transactionRepo.calculateFinancialSummary(userId, catId, from, to);
+    }
+
+    /**
+     * Berechnet die Monatssummen aller Nutzer neu aus den Rohdaten und vergleicht sie
+     * mit dem gespeicherten Stand.
+     * * Mit repair werden vorher alle User-Zeilen gesperrt: Buchungen warten, bis der Neuaufbau
+     * committed ist, statt in gleich gelöschte Zeilen zu schreiben oder doppelte anzulegen.
+     * Nach einem Neuaufbau wird der Datenstand aller Nutzer erhöht, damit weder SummaryCache
+     * noch ETags (304) vorher aus der unvollständigen Tabelle berechnete Summen weiter ausliefern.
+     * @param repair true = bei Abweichungen die Tabelle komplett neu befüllen
+     */
+    @Transactional
+    public DriftReport verify(boolean repair) {
+        if (repair) {
+            userRepo.lockAllIds();
+        }
+        Map<RollupKey, long[]> expected = new HashMap<>();
+        for (Object[] row : transactionRepo.aggregateByMonth()) {
+            TransactionType type = (TransactionType) row[4];
+            if (type == null || row[5] == null) {
+                continue;
+            }
+            LocalDate month = row[2] != null
+                    ? LocalDate.of(((Number) row[2]).intValue(), ((Number) row[3]).intValue(), 1)
+                    : null;
+            expected.put(new RollupKey((Long) row[0], (Long) row[1], month, type),
+                    new long[] { ((Number) row[5]).longValue(), ((Number) row[6]).longValue() });
+        }
+
+        int mismatched = 0;
+        int orphaned = 0;
+        Set<RollupKey> seen = new HashSet<>();
+        for (Object[] r : rollupRepo.findAllRows()) {
+            RollupKey key = new RollupKey((Long) r[0], (Long) r[1], (LocalDate) r[2], (TransactionType) r[3]);
+            long total = ((Number) r[4]).longValue();
+            long count = ((Number) r[5]).longValue();
+            long[] exp = expected.get(key);
+            if (exp == null) {
+                if (count != 0 || total != 0) {
+                    orphaned++;
+                }
+            } else if (!seen.add(key) || exp[0] != total || exp[1] != count) {
+                mismatched++;
+            }
+        }
+        int missing = (int) expected.keySet().stream().filter(k -> !seen.contains(k)).count();
+
+        DriftReport report = new DriftReport(expected.size(), missing, mismatched, orphaned, false);
+        if (!repair || !report.hasDrift()) {
+            return report;
+        }
+
+        rollupRepo.deleteAllInBatch();
+        List<MonthlyRollup> rebuilt = new ArrayList<>(expected.size());
+        expected.forEach((key, d) -> {
+            MonthlyRollup r = new MonthlyRollup();
+            r.setUserId(key.userId());
+            r.setCategoryId(key.categoryId());
+            r.setMonthStart(key.monthStart());
+            r.setType(key.type());
+            r.setTotalMinor(d[0]);
+            r.setTxCount(d[1]);
+            rebuilt.add(r);
+        });
+        rollupRepo.saveAll(rebuilt);
+        // Die Kontostände wurden aus den alten Monatssummen angelegt
+        checkpoints.clear();
+        userRepo.incrementAllDataVersions();
+        return new DriftReport(expected.size(), missing, mismatched, orphaned, true);
+    }
+}
@@ -0,0 +1,24 @@
+package financemaster.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Welche Transaktionen eines Nutzers sich geändert haben - ergänzt UserDataChangedEvent für
+ * abgeleitete Strukturen, die einzelne Zeilen nachführen statt ihren ganzen Stand zu verwerfen
+ * (z.B. der Suchindex). Wird nach dem Commit ausgewertet.
+ */
+public sealed interface TransactionChange {
+
+    Long userId();
+
+    /** Eine neue Transaktion wurde angelegt. */
+    record Added(Long userId, Long id, LocalDate date, long amountMinor, String description)
+            implements TransactionChange {}
+
+    /** Transaktionen mit diesen IDs wurden gelöscht (unbekannte IDs sind erlaubt). */
+    record Removed(Long userId, Collection<Long> ids) implements TransactionChange {}
+
+    /** Viele Zeilen ohne bekannte IDs geändert (Import, Löschen per Filter): alles neu aufbauen. */
+    record Reset(Long userId) implements TransactionChange {}
+}
@@ -0,0 +1,85 @@
+package financemaster.service;
+
+import financemaster.dto.TransactionView;
+import financemaster.persistence.entity.Money;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hilfsklasse für das CSV-Format der Transaktionen (RFC 4180, Komma-getrennt).
+ * Felder mit Komma, Anführungszeichen oder Zeilenumbruch werden in "..." gesetzt.
+ */
+final class TransactionCsv {
+
+    static final String HEADER = "id,date,type,amount,description,categoryId,categoryName";
+
+    private TransactionCsv() {}
+
+    /**
+     * Schreibt eine Transaktion als eine CSV-Zeile (inkl. Zeilenumbruch).
+     */
+    static void writeRow(Writer w, TransactionView t) throws IOException {
+        w.write(String.valueOf(t.id()));
+        w.write(',');
+        w.write(t.date() != null ? t.date().toString() : "");
+        w.write(',');
+        w.write(t.type() != null ? t.type().name() : "");
+        w.write(',');
+        w.write(t.amount() != null ? Money.toDecimal(t.amount()).toPlainString() : "");
+        w.write(',');
+        w.write(escape(t.description()));
+        w.write(',');
+        w.write(t.categoryId() != null ? String.valueOf(t.categoryId()) : "");
+        w.write(',');
+        w.write(escape(t.categoryName()));
+        w.write('\n');
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Zerlegt eine CSV-Zeile in ihre Felder (inkl. "..."-Quoting mit "" als Escape).
+     * Zeilenumbrüche innerhalb von Feldern werden nicht unterstützt.
+     * @throws IllegalArgumentException bei nicht geschlossenen Anführungszeichen
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Nicht geschlossenes Anführungszeichen.");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,74 @@
+package financemaster.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import financemaster.dto.TransactionView;
+import financemaster.persistence.repository.TransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportiert die (gefilterten) Transaktionen eines Nutzers als NDJSON oder CSV.
+ * Die Zeilen werden direkt beim Lesen aus der Datenbank in den Response geschrieben,
+ * sodass der Speicherbedarf unabhängig von der Anzahl der Transaktionen konstant bleibt.
+ * Gelesen wird die Projektion TransactionView: Es entstehen keine Entities, die Hibernate
+ * im Persistence-Context festhalten würde.
+ */
+@Service
+public class TransactionExportService {
+
+    /** Nach so vielen Zeilen wird der Output an den Client geflusht. */
+    private static final int CHUNK_SIZE = 500;
+
+    public enum Format { NDJSON, CSV }
+
+    private final TransactionRepository transactionRepo;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionRepository transactionRepo, ObjectMapper objectMapper) {
+        this.transactionRepo = transactionRepo;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Schreibt alle passenden Transaktionen in den übergebenen Stream.
+     * Läuft in einer read-only Transaktion, damit die Datenbank einen Cursor offen halten kann.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, Long catId, LocalDate from, LocalDate to, Format format, OutputStream out)
+            throws IOException {
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            w.write(TransactionCsv.HEADER);
+            w.write('\n');
+        }
+
+        try (Stream<TransactionView> rows = transactionRepo.streamViewsByFilter(userId, catId, from, to)) {
+            Iterator<TransactionView> it = rows.iterator();
+            int count = 0;
+            while (it.hasNext()) {
+                TransactionView t = it.next();
+                if (format == Format.CSV) {
+                    TransactionCsv.writeRow(w, t);
+                } else {
+                    w.write(objectMapper.writeValueAsString(t));
+                    w.write('\n');
+                }
+
+                if (++count % CHUNK_SIZE == 0) {
+                    w.flush();
+                }
+            }
+        }
+        w.flush();
+    }
+}
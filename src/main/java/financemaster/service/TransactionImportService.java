@@ -0,0 +1,198 @@
+package financemaster.service;
+
+import financemaster.dto.BatchImportResult;
+import financemaster.dto.BatchImportResult.RowError;
+import financemaster.dto.TransactionDto;
+import financemaster.persistence.entity.Money;
+import financemaster.persistence.entity.TransactionType;
+import financemaster.persistence.repository.CategoryRepository;
+import financemaster.persistence.repository.TransactionBatchInserter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Sammel-Import von Transaktionen (z.B. aus Kontoauszügen).
+ * Statt einem HTTP-Call und einer Kategorie-Abfrage pro Zeile wird die Berechtigung
+ * für alle Kategorien mit einer Query geprüft und per JDBC-Batch eingefügt.
+ * Ungültige Zeilen brechen den Import nicht ab, sondern werden im Ergebnis gemeldet.
+ */
+@Service
+public class TransactionImportService {
+
+    private final CategoryRepository categoryRepo;
+    private final TransactionBatchInserter inserter;
+    private final SummaryRollupService rollupService;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+    private final int maxRows;
+
+    public TransactionImportService(CategoryRepository categoryRepo, TransactionBatchInserter inserter,
+                                    SummaryRollupService rollupService, Validator validator,
+                                    ApplicationEventPublisher events,
+                                    @Value("${transactions.import.batch-size:500}") int batchSize,
+                                    @Value("${transactions.import.max-rows:50000}") int maxRows) {
+        this.categoryRepo = categoryRepo;
+        this.inserter = inserter;
+        this.rollupService = rollupService;
+        this.validator = validator;
+        this.events = events;
+        this.batchSize = batchSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Importiert eine Liste von Transaktionen (JSON-Array).
+     */
+    @Transactional
+    public BatchImportResult importRows(Long userId, List<TransactionDto> rows) {
+        List<RowError> errors = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) == null) {
+                errors.add(new RowError(i + 1, "Leere Zeile."));
+            }
+        }
+        return importParsed(userId, rows, errors);
+    }
+
+    /**
+     * Importiert eine CSV-Datei. Die erste Zeile muss die Spaltennamen enthalten;
+     * benötigt werden description, amount, type und categoryId, date ist optional.
+     * Weitere Spalten (z.B. id, categoryName aus dem Export) werden ignoriert.
+     */
+    @Transactional
+    public BatchImportResult importCsv(Long userId, Reader csv) throws IOException {
+        BufferedReader reader = new BufferedReader(csv);
+        String headerLine = reader.readLine();
+        if (headerLine == null || headerLine.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV-Datei ist leer.");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = TransactionCsv.parseLine(headerLine.strip());
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("description", "amount", "type", "categoryid")) {
+            if (!columns.containsKey(required)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV-Spalte fehlt: " + required);
+            }
+        }
+
+        // Fehlerhafte Zeilen bleiben als null in der Liste, damit die Zeilennummern stimmen.
+        List<TransactionDto> rows = new ArrayList<>();
+        List<RowError> errors = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows.size() + 1);
+            try {
+                List<String> f = TransactionCsv.parseLine(line);
+                rows.add(new TransactionDto(
+                        field(f, columns, "description"),
+                        new BigDecimal(field(f, columns, "amount")),
+                        field(f, columns, "type"),
+                        Long.valueOf(field(f, columns, "categoryid")),
+                        columns.containsKey("date") && !field(f, columns, "date").isEmpty()
+                                ? LocalDate.parse(field(f, columns, "date")) : null));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                // NumberFormatException ist eine IllegalArgumentException
+                rows.add(null);
+                errors.add(new RowError(rows.size(), "Zeile nicht lesbar: " + e.getMessage()));
+            }
+        }
+        return importParsed(userId, rows, errors);
+    }
+
+    private BatchImportResult importParsed(Long userId, List<TransactionDto> rows, List<RowError> errors) {
+        checkRowLimit(rows.size());
+
+        // Berechtigung aller referenzierten Kategorien mit einer Query prüfen
+        Set<Long> requested = rows.stream()
+                .filter(Objects::nonNull)
+                .map(TransactionDto::categoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> owned = requested.isEmpty()
+                ? Set.of()
+                : new HashSet<>(categoryRepo.findOwnedIds(userId, requested));
+
+        LocalDate today = LocalDate.now();
+        List<TransactionBatchInserter.Row> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TransactionDto dto = rows.get(i);
+            if (dto == null) {
+                continue; // bereits beim Einlesen als Fehler erfasst
+            }
+            String problem = validate(dto, owned);
+            if (problem != null) {
+                errors.add(new RowError(i + 1, problem));
+                continue;
+            }
+            valid.add(new TransactionBatchInserter.Row(userId, dto.categoryId(),
+                    TransactionType.valueOf(dto.type().toUpperCase()), Money.toMinor(dto.amount()), dto.description(),
+                    dto.date() != null ? dto.date() : today));
+        }
+
+        inserter.insertAll(valid, batchSize);
+        rollupService.recordImported(valid);
+        if (!valid.isEmpty()) {
+            events.publishEvent(new UserDataChangedEvent(userId));
+            events.publishEvent(new TransactionChange.Reset(userId));
+        }
+        errors.sort(Comparator.comparingInt(RowError::row));
+        return new BatchImportResult(rows.size(), valid.size(), errors);
+    }
+
+    /**
+     * Prüft eine Zeile wie der Einzel-Endpunkt (Bean Validation, Typ, Kategorie-Berechtigung).
+     * @return Fehlermeldung oder null, wenn die Zeile gültig ist
+     */
+    private String validate(TransactionDto dto, Set<Long> ownedCategories) {
+        Set<ConstraintViolation<TransactionDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            TransactionType.valueOf(dto.type().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Ungültiger Transaktionstyp: " + dto.type() + ". Erlaubt sind: INCOME, EXPENSE";
+        }
+        if (!ownedCategories.contains(dto.categoryId())) {
+            return "Kategorie nicht gefunden oder Zugriff verweigert";
+        }
+        return null;
+    }
+
+    private void checkRowLimit(int count) {
+        if (count > maxRows) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Zu viele Zeilen (maximal " + maxRows + " pro Import).");
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        int idx = columns.get(name);
+        return idx < fields.size() ? fields.get(idx).strip() : "";
+    }
+}
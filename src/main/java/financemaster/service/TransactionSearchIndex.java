@@ -0,0 +1,270 @@
+package financemaster.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import financemaster.persistence.repository.IndexedTransaction;
+import financemaster.persistence.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Invertierter Index über die Beschreibungen der Transaktionen, einer pro Nutzer im Speicher.
+ * * Aufbau: Wort -> IDs der Transaktionen, die das Wort enthalten, in einer sortierten Map.
+ * Präfixe werden nicht einzeln gespeichert, sondern als Bereich der sortierten Wörter gelesen
+ * ("mie" = alle Wörter, die mit "mie" beginnen) - das hält den Speicherbedarf bei der Anzahl Wörter.
+ * * Der Index eines Nutzers wird bei seiner ersten Suche aus der Datenbank gebaut und danach über
+ * TransactionChange-Events (nach dem Commit) nachgeführt: Anlegen und Löschen einzeln,
+ * Import und Löschen per Filter verwerfen ihn. Die Caches sind nach Einträgen (Dokumente + Wörter)
+ * begrenzt; wenig genutzte Nutzer werden verdrängt bzw. laufen nach der Leerlaufzeit ab.
+ * * Gleichzeitigkeit über eine Generationsnummer pro Nutzer: Kommt während des
+ * Aufbaus eine Änderung, wird der gebaute Index nur für diese Anfrage verwendet, nicht gespeichert.
+ */
+@Component
+public class TransactionSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Treffer mit Relevanz: pro Suchbegriff 2 Punkte für ein ganzes Wort, 1 für ein Präfix.
+     */
+    public record Hit(Long id, int score, LocalDate date) {}
+
+    /** Neueste zuerst bei gleicher Relevanz, wie in der Liste. */
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(Hit::date, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Hit::id, Comparator.reverseOrder());
+
+    private final TransactionRepository transactionRepo;
+    private final TransactionTemplate tx;
+    private final Cache<Long, UserIndex> cache;
+    /** Nur während eines Aufbaus belegt, danach wieder entfernt; siehe indexFor. */
+    private final Map<Long, PendingBuild> pendingBuilds = new ConcurrentHashMap<>();
+
+    public TransactionSearchIndex(TransactionRepository transactionRepo, PlatformTransactionManager txManager,
+                                  @Value("${transactions.search.max-entries:2000000}") long maxEntries,
+                                  @Value("${transactions.search.idle-timeout:30m}") Duration idleTimeout,
+                                  MeterRegistry registry) {
+        this.transactionRepo = transactionRepo;
+        // Bewusst nicht readOnly: Der Aufbau liest vom Primär-Pool, ein verzögertes Replikat
+        // könnte Zeilen fehlen lassen, deren Event schon vorher (ohne Index) verarbeitet wurde.
+        this.tx = new TransactionTemplate(txManager);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxEntries)
+                .weigher((Long userId, UserIndex index) -> index.weight())
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "transactions.search");
+    }
+
+    /**
+     * Sucht in den Beschreibungen des Nutzers. Alle Suchbegriffe müssen (als Wort oder Präfix)
+     * vorkommen; ohne Suchbegriffe zählt nur der Betragsbereich.
+     * @param minAmount Optional: Mindestbetrag in Cent (inklusiv)
+     * @param maxAmount Optional: Höchstbetrag in Cent (inklusiv)
+     * @return höchstens limit Treffer, nach Relevanz sortiert
+     */
+    public List<Hit> search(Long userId, String query, Long minAmount, Long maxAmount, int limit) {
+        return indexFor(userId).search(tokenize(query), minAmount, maxAmount, limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionChange(TransactionChange change) {
+        // compute statt computeIfPresent: läuft mit einem gleichzeitigen Speichern des Aufbaus
+        // (siehe indexFor) für denselben Nutzer nacheinander, nie verschränkt.
+        cache.asMap().compute(change.userId(), (userId, index) -> {
+            pendingBuilds.computeIfPresent(userId, (id, pending) -> {
+                pending.generation++;
+                return pending;
+            });
+            if (index == null) {
+                return null;
+            }
+            return switch (change) {
+                case TransactionChange.Added a -> {
+                    index.add(a.id(), a.date(), a.amountMinor(), a.description());
+                    yield index;
+                }
+                case TransactionChange.Removed r -> {
+                    r.ids().forEach(index::remove);
+                    yield index;
+                }
+                case TransactionChange.Reset reset -> null;
+            };
+        });
+    }
+
+    /**
+     * Anzahl der Nutzer mit geladenem Index.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private UserIndex indexFor(Long userId) {
+        UserIndex index = cache.getIfPresent(userId);
+        if (index != null) {
+            return index;
+        }
+        // Änderungen während des Aufbaus zählen in pendingBuilds hoch; dann wird der gebaute Index
+        // nur für diese Suche benutzt und nicht gespeichert. Der Eintrag lebt nur so lange wie der
+        // Aufbau, damit die Map nicht mit jedem Nutzer wächst, der je gesucht oder geschrieben hat.
+        long[] started = new long[1];
+        PendingBuild pending = pendingBuilds.compute(userId, (id, current) -> {
+            PendingBuild p = current != null ? current : new PendingBuild();
+            p.builders++;
+            started[0] = p.generation;
+            return p;
+        });
+        try {
+            UserIndex built = tx.execute(status -> {
+                UserIndex fresh = new UserIndex();
+                for (IndexedTransaction t : transactionRepo.findIndexEntries(userId)) {
+                    fresh.add(t.id(), t.date(), t.amountMinor() != null ? t.amountMinor() : 0L, t.description());
+                }
+                return fresh;
+            });
+            UserIndex stored = cache.asMap().compute(userId, (id, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                return pending.generation == started[0] ? built : null;
+            });
+            return stored != null ? stored : built;
+        } finally {
+            pendingBuilds.computeIfPresent(userId, (id, p) -> --p.builders == 0 ? null : p);
+        }
+    }
+
+    /**
+     * Laufender Aufbau eines Nutzer-Index. Felder nur innerhalb von pendingBuilds.compute ändern.
+     */
+    private static final class PendingBuild {
+        private volatile long generation;
+        private int builders;
+    }
+
+    /**
+     * Kleinbuchstaben, getrennt an allem außer Buchstaben und Ziffern; doppelte Wörter einmal.
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Index eines Nutzers. Änderungen kommen nacheinander (über den Cache), Suchen parallel dazu;
+     * deshalb sind alle Zugriffe synchronisiert.
+     */
+    static final class UserIndex {
+
+        private record Doc(LocalDate date, long amountMinor, String[] tokens) {}
+
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+        private int postingCount;
+
+        synchronized void add(Long id, LocalDate date, long amountMinor, String description) {
+            remove(id);
+            String[] tokens = tokenize(description);
+            docs.put(id, new Doc(date, amountMinor, tokens));
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, k -> new HashSet<>()).add(id);
+            }
+            postingCount += tokens.length;
+        }
+
+        synchronized void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String token : doc.tokens()) {
+                Set<Long> ids = postings.get(token);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+            postingCount -= doc.tokens().length;
+        }
+
+        /** Gewicht für die Begrenzung des Caches: Dokumente plus Einträge in den Wortlisten. */
+        synchronized int weight() {
+            return docs.size() + postingCount;
+        }
+
+        synchronized List<Hit> search(String[] terms, Long minAmount, Long maxAmount, int limit) {
+            Map<Long, Integer> scores = null;
+            for (String term : terms) {
+                Map<Long, Integer> termScores = new HashMap<>();
+                for (Map.Entry<String, Set<Long>> e
+                        : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    int points = e.getKey().equals(term) ? 2 : 1;
+                    for (Long id : e.getValue()) {
+                        termScores.merge(id, points, Math::max);
+                    }
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // UND-Verknüpfung: nur IDs, die schon alle vorherigen Begriffe enthalten
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            if (scores == null) {
+                docs.forEach((id, doc) -> {
+                    if (inRange(doc, minAmount, maxAmount)) {
+                        hits.add(new Hit(id, 0, doc.date()));
+                    }
+                });
+            } else {
+                scores.forEach((id, score) -> {
+                    Doc doc = docs.get(id);
+                    if (inRange(doc, minAmount, maxAmount)) {
+                        hits.add(new Hit(id, score, doc.date()));
+                    }
+                });
+            }
+            hits.sort(RANKING);
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        }
+
+        private static boolean inRange(Doc doc, Long minAmount, Long maxAmount) {
+            return (minAmount == null || doc.amountMinor() >= minAmount)
+                    && (maxAmount == null || doc.amountMinor() <= maxAmount);
+        }
+    }
+}
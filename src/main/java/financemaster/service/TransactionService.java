@@ -2,9 +2,17 @@ package financemaster.service;
 
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
+import financemaster.dto.CategoryBreakdown;
+import financemaster.dto.RunningBalancePage;
+import financemaster.dto.TransactionCursor;
 import financemaster.dto.TransactionDto;
+import financemaster.dto.TransactionPage;
+import financemaster.dto.TransactionView;
 import financemaster.persistence.entity.*;
 import financemaster.persistence.repository.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -12,35 +20,162 @@ import java.util.*;
 
 @Service
 public class TransactionService {
+    /** Maximale Anzahl IDs pro DELETE-Statement (Größe der IN-Liste). */
+    private static final int DELETE_BATCH_SIZE = 1000;
+
     private final TransactionRepository transactionRepo;
     private final CategoryRepository categoryRepo;
+    private final SummaryRollupService rollupService;
+    private final SummaryCache summaryCache;
+    private final DataVersionService dataVersions;
+    private final TransactionSearchIndex searchIndex;
+    private final BalanceCheckpointService checkpoints;
+    private final UserRepository userRepo;
+    private final ApplicationEventPublisher events;
+    private final int maxPageSize;
 
-    public TransactionService(TransactionRepository t, CategoryRepository c) {
+    public TransactionService(TransactionRepository t, CategoryRepository c, SummaryRollupService r,
+                              SummaryCache summaryCache, DataVersionService dataVersions,
+                              TransactionSearchIndex searchIndex,
+                              BalanceCheckpointService checkpoints, UserRepository userRepo,
+                              ApplicationEventPublisher events,
+                              @Value("${transactions.max-page-size:200}") int maxPageSize) {
         this.transactionRepo = t;
         this.categoryRepo = c;
+        this.rollupService = r;
+        this.summaryCache = summaryCache;
+        this.dataVersions = dataVersions;
+        this.searchIndex = searchIndex;
+        this.checkpoints = checkpoints;
+        this.userRepo = userRepo;
+        this.events = events;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
      * Ruft eine Liste von Transaktionen ab, gefiltert nach User, Kategorie und Datumsbereich.
-     * Nutzt JPQL im Repository für die Filterlogik.
+     * Die Filter werden im Repository dynamisch per Criteria API zusammengesetzt und als
+     * schlanke Projektion (TransactionView) gelesen.
      */
-    public List<Transaction> getFilteredTransactions(Long userId, Long catId, LocalDate from, LocalDate to) {
-        return transactionRepo.findAllByFilter(userId, catId, from, to);
+    @Transactional(readOnly = true)
+    public List<TransactionView> getFilteredTransactions(Long userId, Long catId, LocalDate from, LocalDate to) {
+        return transactionRepo.findViewsByFilter(userId, catId, from, to);
+    }
+
+    /**
+     * Liefert eine Seite der gefilterten Transaktionen (Cursor-Modus).
+     * Die Seitengröße wird auf die konfigurierte Obergrenze begrenzt. Es wird ein Eintrag
+     * mehr geladen als angefordert, um ohne Count-Query zu erkennen, ob es weitergeht.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionPage(Long userId, Long catId, LocalDate from, LocalDate to,
+                                              TransactionCursor cursor, int limit) {
+        int size = Math.clamp(limit, 1, maxPageSize);
+        List<TransactionView> rows = transactionRepo.findViewPageByFilter(userId, catId, from, to,
+                cursor != null ? cursor.date() : null,
+                cursor != null ? cursor.id() : null,
+                size + 1);
+
+        if (rows.size() <= size) {
+            return new TransactionPage(rows, null);
+        }
+        List<TransactionView> items = rows.subList(0, size);
+        TransactionView last = items.get(size - 1);
+        return new TransactionPage(items, new TransactionCursor(last.date(), last.id()).encode());
+    }
+
+    /**
+     * Wie getTransactionPage (ohne Kategorie-Filter), zusätzlich mit dem Kontostand nach jeder Buchung.
+     * * Startwert ist der Kontostand am Vortag der ältesten Buchung der Seite (über die Monatsend-Stände),
+     * darauf kommt die laufende Summe ab diesem Tag bis zur neuesten Buchung der Seite (Window-Funktion).
+     * Gelesen werden also nur die Buchungen im Zeitraum der Seite, nicht die gesamte Historie.
+     * Nicht readOnly, weil dabei ein fehlender Monatsend-Stand angelegt werden kann.
+     */
+    @Transactional
+    public RunningBalancePage getTransactionPageWithBalance(Long userId, LocalDate from, LocalDate to,
+                                                           TransactionCursor cursor, int limit) {
+        TransactionPage page = getTransactionPage(userId, null, from, to, cursor, limit);
+        List<TransactionView> dated = page.items().stream().filter(v -> v.date() != null).toList();
+
+        Map<Long, Long> balances = new HashMap<>();
+        if (!dated.isEmpty()) {
+            TransactionView newest = dated.getFirst();
+            TransactionView oldest = dated.getLast();
+            long opening = checkpoints.balanceAsOf(userId, oldest.date().minusDays(1));
+            for (Object[] row : transactionRepo.runningNet(userId, oldest.date(), newest.date(), newest.id())) {
+                balances.put((Long) row[0], opening + ((Number) row[1]).longValue());
+            }
+        }
+        List<RunningBalancePage.Row> items = page.items().stream()
+                .map(v -> new RunningBalancePage.Row(v, balances.get(v.id())))
+                .toList();
+        return new RunningBalancePage(items, page.nextCursor());
+    }
+
+    /**
+     * Kontostand nach allen Buchungen bis einschließlich date, über alle Kategorien.
+     * Kostet den Monatsend-Stand des Vormonats plus die Buchungen seit dem Monatsersten.
+     */
+    public Map<String, Object> getBalanceAsOf(Long userId, LocalDate date) {
+        return Map.of("date", date, "balance", Money.toDecimal(checkpoints.balanceAsOf(userId, date)));
+    }
+
+    /**
+     * Volltextsuche in den Beschreibungen, optional eingeschränkt auf einen Betragsbereich (Cent).
+     * Der Index liefert die IDs nach Relevanz, die Zeilen kommen danach mit einer einzigen Abfrage
+     * und werden wieder in diese Reihenfolge gebracht.
+     * * Bewusst ohne @Transactional(readOnly = true): Der Aufbau des Index liest vom Primär-Pool
+     * in einer eigenen Transaktion und soll dafür keine zweite Verbindung neben einer offenen belegen.
+     */
+    public List<TransactionView> search(Long userId, String query, Long minAmount, Long maxAmount, int limit) {
+        if ((query == null || query.isBlank()) && minAmount == null && maxAmount == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bitte Suchbegriff oder Betragsbereich angeben.");
+        }
+        List<TransactionSearchIndex.Hit> hits = searchIndex.search(userId, query, minAmount, maxAmount,
+                Math.clamp(limit, 1, maxPageSize));
+        Map<Long, TransactionView> byId = new HashMap<>();
+        for (TransactionView v : transactionRepo.findViewsByIds(userId,
+                hits.stream().map(TransactionSearchIndex.Hit::id).toList())) {
+            byId.put(v.id(), v);
+        }
+        // Zwischen Suche und Laden gelöschte Zeilen fallen heraus
+        return hits.stream().map(h -> byId.get(h.id())).filter(Objects::nonNull).toList();
     }
 
     /**
      * Berechnet die Summen für Einnahmen, Ausgaben und den aktuellen Kontostand.
      * Gibt eine Map zurück, um flexibel verschiedene Kennzahlen an das Frontend zu liefern.
+     * Die Summen kommen überwiegend aus den Monatssummen (siehe SummaryRollupService)
+     * und werden pro Filter-Kombination und Datenstand zwischengespeichert. Datenstand und Summen
+     * kommen aus derselben lesenden Transaktion (gleiche Datenbank, siehe SummaryCache).
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getFinancialSummary(Long userId, Long catId, LocalDate from, LocalDate to) {
-        Map<String, Double> res = transactionRepo.calculateFinancialSummary(userId, catId, from, to);
-        
-        // Null-Safe Zugriff auf die aggregierten Werte, um NullPointerExceptions zu vermeiden,
-        // falls die Datenbank NULL zurückliefert (z.B. wenn keine Transaktionen vorhanden sind).
-        double inc = res != null && res.get("inc") != null ? res.get("inc") : 0.0;
-        double exp = res != null && res.get("exp") != null ? res.get("exp") : 0.0;
-        
-        return Map.of("totalIncome", inc, "totalExpense", exp, "balance", inc - exp);
+        return summaryCache.get(userId, dataVersions.current(userId), catId, from, to, () -> {
+            AmountTotals totals = rollupService.summarize(userId, catId, from, to);
+
+            // Gerechnet wird in Cent, erst die Antwort enthält Euro-Beträge
+            return Map.of("totalIncome", Money.toDecimal(totals.income()),
+                          "totalExpense", Money.toDecimal(totals.expense()),
+                          "balance", Money.toDecimal(totals.balance()));
+        });
+    }
+
+    /**
+     * Schlüsselt Einnahmen, Ausgaben und Anzahl nach Kategorien auf (z.B. für das Kreisdiagramm).
+     * Eine gruppierte Abfrage statt einer Summen-Abfrage pro Kategorie.
+     * @param limit nur die ersten K Kategorien nach der gewählten Sortierung (null = alle)
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryBreakdown> getCategoryBreakdown(Long userId, LocalDate from, LocalDate to,
+                                                        CategoryTotal.SortBy sortBy, Integer limit) {
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit muss mindestens 1 sein.");
+        }
+        return transactionRepo.sumPerCategory(userId, from, to, sortBy, limit).stream()
+                .map(c -> new CategoryBreakdown(c.categoryId(), c.categoryName(),
+                        Money.toDecimal(c.income()), Money.toDecimal(c.expense()), c.count()))
+                .toList();
     }
 
     /**
@@ -76,16 +211,70 @@ public class TransactionService {
         u.setId(userId); 
         t.setUser(u);
         
-        return transactionRepo.save(t);
+        Transaction saved = transactionRepo.save(t);
+        rollupService.record(saved, 1);
+        events.publishEvent(new UserDataChangedEvent(userId));
+        events.publishEvent(new TransactionChange.Added(userId, saved.getId(), saved.getDate(),
+                saved.getAmountMinor(), saved.getDescription()));
+        return saved;
     }
 
     /**
      * Löscht eine Transaktion sicher.
      * Führt die Löschung nur aus, wenn die Transaktion tatsächlich dem übergebenen User gehört.
      */
+    @Transactional
     public void deleteTransactionSafe(Long id, Long userId) {
-        transactionRepo.findById(id)
-                       .filter(t -> t.getUser().getId().equals(userId))
-                       .ifPresent(transactionRepo::delete);
+        deleteTransactions(userId, List.of(id));
+    }
+
+    /**
+     * Löscht mehrere Transaktionen des Users.
+     * Statt jede Zeile zu laden und einzeln zu prüfen, läuft pro Block von IDs ein einziges
+     * "DELETE ... WHERE id IN (...) AND user_id = ?". Fremde oder unbekannte IDs werden ignoriert.
+     * @return Anzahl tatsächlich gelöschter Transaktionen
+     */
+    @Transactional
+    public int deleteTransactions(Long userId, Collection<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int deleted = 0;
+        for (int i = 0; i < distinct.size(); i += DELETE_BATCH_SIZE) {
+            List<Long> chunk = distinct.subList(i, Math.min(i + DELETE_BATCH_SIZE, distinct.size()));
+            deleted += deleteMatching(userId, TransactionSpecifications.ownedWithIds(userId, chunk),
+                    new TransactionChange.Removed(userId, List.copyOf(chunk)));
+        }
+        return deleted;
+    }
+
+    /**
+     * Löscht alle Transaktionen des Users, die auf den Filter (Kategorie und/oder Zeitraum) passen.
+     * Mindestens ein Filter muss gesetzt sein, damit nicht versehentlich alles gelöscht wird.
+     * @return Anzahl gelöschter Transaktionen
+     */
+    @Transactional
+    public int deleteByFilter(Long userId, Long catId, LocalDate from, LocalDate to) {
+        if (catId == null && from == null && to == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bitte IDs oder mindestens einen Filter angeben.");
+        }
+        return deleteMatching(userId, TransactionSpecifications.forFilter(userId, catId, from, to),
+                new TransactionChange.Reset(userId));
+    }
+
+    /**
+     * Korrigiert zuerst die Monatssummen (eine gruppierte Abfrage) und löscht dann mit einem Statement.
+     * Vorher wird die User-Zeile gesperrt: Alle Schreibpfade (Anlegen, Import, Umhängen) nehmen dieselbe
+     * Sperre vor ihrem Commit, also kann zwischen SUM und DELETE keine neue Buchung sichtbar werden,
+     * die gelöscht, aber nicht aus den Monatssummen und Kontoständen ausgetragen würde.
+     * @param change wie der Suchindex nachgeführt wird (einzelne IDs oder neu aufbauen)
+     */
+    private int deleteMatching(Long userId, Specification<Transaction> spec, TransactionChange change) {
+        userRepo.lockById(userId);
+        rollupService.recordRemoved(userId, transactionRepo.sumByDay(spec));
+        int deleted = transactionRepo.deleteMatching(spec);
+        if (deleted > 0) {
+            events.publishEvent(new UserDataChangedEvent(userId));
+            events.publishEvent(change);
+        }
+        return deleted;
     }
-}
\ No newline at end of file
+}
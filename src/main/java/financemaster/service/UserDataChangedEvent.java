@@ -0,0 +1,7 @@
+package financemaster.service;
+
+/**
+ * Wird veröffentlicht, wenn sich Transaktionen oder Kategorien eines Nutzers geändert haben.
+ * Caches und abgeleitete Daten dieses Nutzers hören darauf und verwerfen ihren Stand.
+ */
+public record UserDataChangedEvent(Long userId) {}
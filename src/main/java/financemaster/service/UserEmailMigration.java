@@ -0,0 +1,39 @@
+package financemaster.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Befüllt users.email_normalized für Nutzer, die vor Einführung der Spalte angelegt wurden.
+ * Hibernate (ddl-auto=update) legt Spalte und eindeutigen Index an, die Werte fehlen aber;
+ * ohne sie würden Login und Registrierung diese Nutzer nicht finden.
+ * Auf bereits befüllten Datenbanken ein No-op.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UserEmailMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEmailMigration.class);
+
+    private final JdbcTemplate jdbc;
+
+    public UserEmailMigration(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Gleiche Normalisierung wie User.normalizeEmail
+        int rows = jdbc.update("UPDATE users SET email_normalized = LOWER(TRIM(email)) " +
+                               "WHERE email_normalized IS NULL AND email IS NOT NULL");
+        if (rows > 0) {
+            log.info("Normalisierte E-Mail für {} Nutzer nachgetragen", rows);
+        }
+    }
+}
@@ -1,27 +1,64 @@
 package financemaster;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import financemaster.config.AdmissionControlledDataSource;
+import financemaster.config.DatabaseBusyException;
+import financemaster.config.JdbcSessionRepository;
+import financemaster.config.ReadWriteRoutingDataSource;
+import financemaster.config.ReadYourWritesInterceptor;
+import financemaster.dto.ReportRequest;
+import financemaster.dto.SessionUser;
 import financemaster.dto.TransactionDto;
 import financemaster.persistence.entity.Category;
+import financemaster.persistence.entity.ReportJob;
+import financemaster.persistence.entity.ReportStatus;
 import financemaster.persistence.entity.Transaction;
 import financemaster.persistence.entity.User;
 import financemaster.persistence.repository.CategoryRepository;
+import financemaster.persistence.repository.ReportJobRepository;
 import financemaster.persistence.repository.TransactionRepository;
+import financemaster.persistence.repository.TransactionSpecifications;
 import financemaster.persistence.repository.UserRepository;
+import financemaster.service.SessionUsers;
+import financemaster.service.SummaryRollupService;
+import financemaster.service.TransactionChange;
+import financemaster.service.TransactionSearchIndex;
+import financemaster.service.TransactionService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,7 +69,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Durch @Transactional wird die Datenbank nach jedem Testfall zurückgesetzt (Rollback),
  * sodass jeder Test mit einer sauberen Umgebung startet.
  */
-@SpringBootTest
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=financemaster.FinanceMasterIntegrationTest$SqlCapture")
 @AutoConfigureMockMvc
 @Transactional
 public class FinanceMasterIntegrationTest {
@@ -41,8 +79,14 @@ public class FinanceMasterIntegrationTest {
     @Autowired private UserRepository userRepo;
     @Autowired private CategoryRepository catRepo;
     @Autowired private TransactionRepository txRepo;
+    @Autowired private ReportJobRepository reportJobRepo;
     @Autowired private PasswordEncoder encoder;
     @Autowired private ObjectMapper objectMapper;
+    @Autowired private TransactionService txService;
+    @Autowired private SummaryRollupService rollupService;
+    @Autowired private TransactionSearchIndex searchIndex;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private DataSource dataSource;
 
     private User testUser;
     private MockHttpSession session;
@@ -104,6 +148,41 @@ public class FinanceMasterIntegrationTest {
                 .andExpect(jsonPath("$.name", is("Test User")));
     }
 
+    /**
+     * E-Mails werden ohne Rücksicht auf Groß-/Kleinschreibung verglichen:
+     * Login mit abweichender Schreibweise klappt, erneute Registrierung ergibt 409.
+     */
+    @Test
+    void emailComparison_ShouldIgnoreCase() throws Exception {
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"email\": \" Test@TEST.de \", \"password\": \"password123\" }"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"name\": \"X\", \"email\": \"TEST@test.de\", \"password\": \"pw\" }"))
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Hashes mit niedrigeren BCrypt-Kosten werden beim Login auf die konfigurierten Kosten angehoben.
+     */
+    @Test
+    void login_WithWeakerHash_ShouldRehashPassword() throws Exception {
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepo.saveAndFlush(testUser);
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"email\": \"test@test.de\", \"password\": \"password123\" }"))
+                .andExpect(status().isOk());
+
+        String hash = userRepo.findById(testUser.getId()).orElseThrow().getPassword();
+        assertFalse(encoder.upgradeEncoding(hash));
+        assertTrue(encoder.matches("password123", hash));
+    }
+
     /**
      * Sicherheits-Test: Zugriff auf geschützte Ressourcen ohne Login.
      * Szenario: Ein Aufruf ohne Session-Cookie.
@@ -126,6 +205,20 @@ public class FinanceMasterIntegrationTest {
                 .andExpect(jsonPath("$.id", is(testUser.getId().intValue())));
     }
 
+    /**
+     * /auth/me liefert ein ETag; mit passendem If-None-Match antwortet der Server mit 304.
+     */
+    @Test
+    void meEndpoint_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/auth/me").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email", is("test@test.de")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/auth/me").session(session).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
     /*
      #########################################################################
      #               TEIL 2: KATEGORIEN & DATEN-ISOLATION                    #
@@ -195,6 +288,64 @@ public class FinanceMasterIntegrationTest {
         assertTrue(catRepo.findById(foreignCat.getId()).isPresent());
     }
 
+    /**
+     * Kategorie mit Transaktionen ohne Strategie löschen.
+     * Erwartung: HTTP 409, Kategorie bleibt erhalten.
+     */
+    @Test
+    void deleteCategory_WithTransactions_ShouldRequireStrategy() throws Exception {
+        Transaction tx = createTx(10.0, "EXPENSE", "2025-01-10");
+
+        mockMvc.perform(delete("/categories/" + tx.getCategory().getId()).session(session))
+                .andExpect(status().isConflict());
+
+        assertTrue(catRepo.findById(tx.getCategory().getId()).isPresent());
+    }
+
+    /**
+     * Umhängen der Transaktionen auf eine andere Kategorie.
+     * Erwartung: Kategorie weg, Transaktion in der Zielkategorie, Summe der Zielkategorie stimmt.
+     */
+    @Test
+    void deleteCategory_WithReassign_ShouldMoveTransactions() throws Exception {
+        Transaction tx = createTx(40.0, "EXPENSE", "2025-01-10");
+        Category target = createCategory("Ziel", testUser);
+
+        mockMvc.perform(delete("/categories/" + tx.getCategory().getId())
+                        .param("strategy", "reassign")
+                        .param("targetId", target.getId().toString())
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions").value(1));
+
+        assertTrue(catRepo.findById(tx.getCategory().getId()).isEmpty());
+        assertEquals(target.getId(), txRepo.findById(tx.getId()).orElseThrow().getCategory().getId());
+
+        mockMvc.perform(get("/transactions/summary/balance")
+                        .param("categoryId", target.getId().toString())
+                        .session(session))
+                .andExpect(jsonPath("$.totalExpense").value(40.0));
+    }
+
+    /**
+     * Mitlöschen der Transaktionen (cascade).
+     * Erwartung: Kategorie und ihre Transaktionen sind weg, die Bilanz ist wieder 0.
+     */
+    @Test
+    void deleteCategory_WithCascade_ShouldDeleteTransactions() throws Exception {
+        Transaction tx = createTx(25.0, "INCOME", "2025-01-10");
+
+        mockMvc.perform(delete("/categories/" + tx.getCategory().getId())
+                        .param("strategy", "cascade")
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions").value(1));
+
+        assertTrue(txRepo.findById(tx.getId()).isEmpty());
+        mockMvc.perform(get("/transactions/summary/balance").session(session))
+                .andExpect(jsonPath("$.balance").value(0.0));
+    }
+
     /*
      #########################################################################
      #           TEIL 3: TRANSAKTIONEN & BUSINESS LOGIK                      #
@@ -209,7 +360,7 @@ public class FinanceMasterIntegrationTest {
     void createTransaction_Income_ShouldSucceed() throws Exception {
         Category cat = createCategory("Job", testUser);
         TransactionDto req = new TransactionDto(
-            "Gehalt", 2000.0, "INCOME", cat.getId(), LocalDate.now()
+            "Gehalt", new BigDecimal("2000.00"), "INCOME", cat.getId(), LocalDate.now()
         );
 
         mockMvc.perform(post("/transactions")
@@ -232,7 +383,7 @@ public class FinanceMasterIntegrationTest {
         Category foreignCat = createCategory("Fremd", other);
 
         TransactionDto req = new TransactionDto(
-            "Betrug", 100.0, "EXPENSE", foreignCat.getId(), LocalDate.now()
+            "Betrug", new BigDecimal("100.00"), "EXPENSE", foreignCat.getId(), LocalDate.now()
         );
 
         mockMvc.perform(post("/transactions")
@@ -277,6 +428,244 @@ public class FinanceMasterIntegrationTest {
                 .andExpect(jsonPath("$.balance", is(800.0)));
     }
 
+    /**
+     * Logik-Test: Cent-genaue Summen.
+     * Szenario: 0.10 + 0.20 Einnahmen (als Gleitkommazahl wäre das 0.30000000000000004).
+     * Erwartung: Die Summe ist exakt 0.30.
+     */
+    @Test
+    void getSummary_ShouldSumCentsExactly() throws Exception {
+        createTx(0.1, "INCOME", "2025-01-01");
+        createTx(0.2, "INCOME", "2025-01-02");
+
+        mockMvc.perform(get("/transactions/summary/balance").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"totalIncome\":0.30")));
+    }
+
+    /**
+     * Logik-Test: Zusammenfassung über angeschnittene Monate.
+     * Szenario: Zeitraum 10.01. bis 04.03. - Januar und März nur teilweise, Februar komplett.
+     * Erwartung: Randmonate werden tagesgenau berücksichtigt (05.03. liegt außerhalb).
+     */
+    @Test
+    void getSummary_WithPartialMonths_ShouldCombineRollupsAndRawRows() throws Exception {
+        createTx(100.0, "INCOME", "2025-01-15");
+        createTx(5.0, "INCOME", "2025-01-05");
+        createTx(40.0, "EXPENSE", "2025-02-10");
+        createTx(10.0, "INCOME", "2025-03-05");
+
+        mockMvc.perform(get("/transactions/summary/balance")
+                .session(session)
+                .param("from", "2025-01-10")
+                .param("to", "2025-03-04"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalIncome", is(100.0)))
+                .andExpect(jsonPath("$.totalExpense", is(40.0)));
+    }
+
+    /**
+     * Zeitreihen-Test: Monatliche Cashflow-Reihe mit Lücke.
+     * Szenario: Einnahme im Januar (teilweise im Zeitraum), Ausgabe im März, Februar ohne Buchungen.
+     * Erwartung: Drei Monatspunkte, Februar mit 0 aufgefüllt, Saldo pro Monat.
+     */
+    @Test
+    void getSeries_ByMonth_ShouldFillEmptyBuckets() throws Exception {
+        createTx(100.0, "INCOME", "2025-01-15");
+        createTx(5.0, "INCOME", "2025-01-05");
+        createTx(40.0, "EXPENSE", "2025-03-10");
+
+        mockMvc.perform(get("/transactions/summary/series")
+                .session(session)
+                .param("granularity", "month")
+                .param("from", "2025-01-10")
+                .param("to", "2025-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].start", is("2025-01-01")))
+                .andExpect(jsonPath("$[0].income", is(100.0)))
+                .andExpect(jsonPath("$[1].income", is(0.0)))
+                .andExpect(jsonPath("$[2].net", is(-40.0)));
+    }
+
+    /**
+     * Zeitreihen-Test: Wochen beginnen am Montag, ungültige Einteilung wird abgelehnt.
+     */
+    @Test
+    void getSeries_ByWeek_ShouldGroupFromMonday() throws Exception {
+        createTx(10.0, "EXPENSE", "2025-01-06"); // Montag
+        createTx(20.0, "EXPENSE", "2025-01-12"); // Sonntag derselben Woche
+
+        mockMvc.perform(get("/transactions/summary/series").session(session).param("granularity", "week"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].start", is("2025-01-06")))
+                .andExpect(jsonPath("$[0].expense", is(30.0)));
+
+        mockMvc.perform(get("/transactions/summary/series").session(session).param("granularity", "hour"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Aufschlüsselung nach Kategorien.
+     * Szenario: Zwei Kategorien mit unterschiedlichen Ausgaben.
+     * Erwartung: Sortiert nach Ausgaben absteigend, mit limit=1 nur die größte Kategorie.
+     */
+    @Test
+    void getByCategory_ShouldGroupSortAndLimit() throws Exception {
+        createTx(30.0, "EXPENSE", "2025-01-01");
+        Transaction big = createTx(70.0, "EXPENSE", "2025-01-02");
+        txService.createTransaction(testUser.getId(), new TransactionDto("Mehr", new BigDecimal("5.00"), "EXPENSE",
+                big.getCategory().getId(), LocalDate.parse("2025-01-03")));
+
+        mockMvc.perform(get("/transactions/summary/by-category").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].categoryId", is(big.getCategory().getId().intValue())))
+                .andExpect(jsonPath("$[0].expense", is(75.0)))
+                .andExpect(jsonPath("$[0].count", is(2)))
+                .andExpect(jsonPath("$[1].expense", is(30.0)));
+
+        mockMvc.perform(get("/transactions/summary/by-category").session(session).param("limit", "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    /**
+     * Kontostand zum Stichtag und laufender Kontostand in der Liste.
+     * Erwartung: Der Monatsend-Stand wird beim ersten Abruf angelegt und von späteren
+     * Buchungen in früheren Monaten fortgeschrieben.
+     */
+    @Test
+    void balanceAsOf_ShouldUseCheckpointsAndRunningBalance() throws Exception {
+        createTx(100.0, "INCOME", "2025-01-10");
+        createTx(30.0, "EXPENSE", "2025-02-05");
+        createTx(20.0, "EXPENSE", "2025-03-15");
+
+        mockMvc.perform(get("/transactions/summary/balance-as-of").session(session).param("date", "2025-03-10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(70.0)));
+        assertEquals(7000L, jdbc.queryForObject(
+                "SELECT balance_minor FROM balance_checkpoints WHERE user_id = ? AND month_end = DATE '2025-02-28'",
+                Long.class, testUser.getId()));
+
+        // Nachträgliche Buchung im Januar -> Stand Ende Februar wird mitgeführt
+        createTx(5.0, "EXPENSE", "2025-01-20");
+        mockMvc.perform(get("/transactions/summary/balance-as-of").session(session).param("date", "2025-03-10"))
+                .andExpect(jsonPath("$.balance", is(65.0)));
+
+        mockMvc.perform(get("/transactions").session(session).param("limit", "2").param("runningBalance", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].date", is("2025-03-15")))
+                .andExpect(jsonPath("$.items[0].balance", is(45.0)))
+                .andExpect(jsonPath("$.items[1].balance", is(65.0)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()));
+    }
+
+    /**
+     * Berichts-Auftrag anlegen und abfragen.
+     * Erwartung: 202 mit Location, dieselbe Anfrage auf demselben Datenstand liefert denselben Auftrag,
+     * fremde User sehen ihn nicht. (Der Worker rechnet außerhalb der Test-Transaktion und sieht
+     * den nicht committeten Auftrag nicht; hier geht es nur um die Schnittstelle.)
+     */
+    @Test
+    void createReport_ShouldReturnJobAndReuseIt() throws Exception {
+        String body = objectMapper.writeValueAsString(new ReportRequest(2025));
+        String location = mockMvc.perform(post("/reports").session(session)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status", is("PENDING")))
+                .andReturn().getResponse().getHeader("Location");
+        assertNotNull(location);
+
+        mockMvc.perform(post("/reports").session(session).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(header().string("Location", location));
+
+        mockMvc.perform(get(location).session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        User other = userRepo.save(createUser("reports@test.de"));
+        MockHttpSession otherSession = new MockHttpSession();
+        otherSession.setAttribute("userId", other.getId());
+        mockMvc.perform(get(location).session(otherSession))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(post("/reports").session(session).contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Aufräumen alter Berichts-Ergebnisse.
+     * Szenario: Ergebnisse auf Datenstand 1 und 3 liegen vor, ein später angelegter Auftrag auf Stand 2 wird fertig.
+     * Erwartung: Nur das ältere Ergebnis (Stand 1) wird gelöscht, das neuere (Stand 3) bleibt abrufbar.
+     */
+    @Test
+    void deleteOlderResults_ShouldKeepResultsOnNewerDataVersion() {
+        ReportJob older = reportJobRepo.save(reportJob(1, ReportStatus.DONE));
+        ReportJob newer = reportJobRepo.save(reportJob(3, ReportStatus.DONE));
+        ReportJob finished = reportJobRepo.save(reportJob(2, ReportStatus.DONE));
+
+        assertEquals(1, reportJobRepo.deleteOlderResults(testUser.getId(), "annual:2025", finished.getId(), 2));
+        assertFalse(reportJobRepo.existsById(older.getId()));
+        assertTrue(reportJobRepo.existsById(newer.getId()));
+        assertTrue(reportJobRepo.existsById(finished.getId()));
+    }
+
+    private ReportJob reportJob(long dataVersion, ReportStatus status) {
+        ReportJob job = new ReportJob();
+        job.setUserId(testUser.getId());
+        job.setParams("annual:2025");
+        job.setDataVersion(dataVersion);
+        job.setStatus(status);
+        job.setCreatedAt(Instant.now());
+        return job;
+    }
+
+    /**
+     * Cache-Test: Zusammenfassung nach neuer Buchung.
+     * Szenario: Summary wird abgefragt (und gecacht), danach kommt eine Buchung hinzu.
+     * Erwartung: Die zweite Abfrage liefert den neuen Stand, nicht den gecachten.
+     */
+    @Test
+    void getSummary_AfterNewTransaction_ShouldNotServeStaleCache() throws Exception {
+        createTx(1000.0, "INCOME", "2025-01-01");
+        mockMvc.perform(get("/transactions/summary/balance").session(session))
+                .andExpect(jsonPath("$.balance", is(1000.0)));
+
+        createTx(300.0, "EXPENSE", "2025-01-02");
+        mockMvc.perform(get("/transactions/summary/balance").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(700.0)));
+    }
+
+    /**
+     * Wartungs-Test: Abgleich der Monatssummen.
+     * Szenario: Eine Buchung wird am Service vorbei direkt in die Tabelle geschrieben.
+     * Erwartung: Der Abgleich erkennt die fehlende Monatssumme, repariert sie und erhöht den Datenstand.
+     */
+    @Test
+    void verifyRollups_ShouldDetectAndRepairDrift() {
+        createTx(100.0, "INCOME", "2025-01-15");
+        assertFalse(rollupService.verify(false).hasDrift());
+
+        Transaction raw = new Transaction();
+        raw.setUser(testUser);
+        raw.setCategory(createCategory("Direkt", testUser));
+        raw.setAmount(new BigDecimal("50.00"));
+        raw.setType(financemaster.persistence.entity.TransactionType.INCOME);
+        raw.setDate(LocalDate.parse("2025-02-01"));
+        txRepo.save(raw);
+
+        long versionBefore = userRepo.findDataVersion(testUser.getId()).orElseThrow();
+        SummaryRollupService.DriftReport report = rollupService.verify(true);
+        assertEquals(1, report.missing());
+        assertTrue(report.repaired());
+        assertFalse(rollupService.verify(false).hasDrift());
+        // Neuer Datenstand: gecachte Summen und ETags aus der alten Tabelle gelten nicht mehr
+        assertTrue(userRepo.findDataVersion(testUser.getId()).orElseThrow() > versionBefore);
+    }
+
     /**
      * Filter-Test: Zeitraumeinschränkung.
      * Szenario: Eine Buchung im Januar, eine im Februar. Filter auf Januar gesetzt.
@@ -296,6 +685,408 @@ public class FinanceMasterIntegrationTest {
                 .andExpect(jsonPath("$[0].date", is("2025-01-01")));
     }
 
+    /**
+     * Projektions-Test: Listen-Zeilen.
+     * Erwartung: Jede Zeile enthält nur Kategorie-ID und -Name, keine verschachtelten
+     * Kategorie- oder User-Objekte.
+     */
+    @Test
+    void getTransactions_ShouldReturnFlatRows() throws Exception {
+        Transaction tx = createTx(42.0, "EXPENSE", "2025-01-01");
+
+        mockMvc.perform(get("/transactions").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(tx.getId().intValue())))
+                .andExpect(jsonPath("$[0].categoryName", is("TestCat")))
+                .andExpect(jsonPath("$[0].category").doesNotExist())
+                .andExpect(jsonPath("$[0].user").doesNotExist());
+    }
+
+    /**
+     * Kompaktes Format: Kategorien einmal als Nebentabelle, Zeilen als Arrays mit Cent-Beträgen.
+     * Mit Accept: application/cbor kommt dieselbe Antwort binär.
+     */
+    @Test
+    void getTransactionsCompact_ShouldListCategoriesOnce() throws Exception {
+        createTx(12.5, "EXPENSE", "2025-01-01");
+        createTx(7.0, "EXPENSE", "2025-01-02");
+
+        mockMvc.perform(get("/transactions/compact").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns[2]", is("amountMinor")))
+                .andExpect(jsonPath("$.categories", hasSize(2)))
+                .andExpect(jsonPath("$.rows", hasSize(2)))
+                .andExpect(jsonPath("$.rows[1][2]", is(1250)))
+                .andExpect(jsonPath("$.rows[1][3]", is("EXPENSE")));
+
+        mockMvc.perform(get("/transactions/compact").session(session).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"));
+    }
+
+    /**
+     * Suche über den Index: Wortanfänge, Betragsbereich und Nachführen beim Löschen.
+     * Die Events kommen erst nach dem Commit; da der Test nie committet, wird das Löschen
+     * hier wie nach dem Commit direkt an den Index gemeldet.
+     */
+    @Test
+    void searchTransactions_ShouldMatchPrefixesAndFollowDeletes() throws Exception {
+        Category cat = createCategory("Wohnen", testUser);
+        Transaction rent = txService.createTransaction(testUser.getId(),
+                new TransactionDto("Miete Januar", new BigDecimal("800.00"), "EXPENSE", cat.getId(), LocalDate.parse("2025-01-01")));
+        txService.createTransaction(testUser.getId(),
+                new TransactionDto("Mietkaution", new BigDecimal("1500.00"), "EXPENSE", cat.getId(), LocalDate.parse("2025-01-02")));
+        txService.createTransaction(testUser.getId(),
+                new TransactionDto("Supermarkt", new BigDecimal("45.00"), "EXPENSE", cat.getId(), LocalDate.parse("2025-01-03")));
+
+        mockMvc.perform(get("/transactions/search").session(session).param("q", "miet"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].description", is("Mietkaution")));
+
+        mockMvc.perform(get("/transactions/search").session(session).param("q", "MIET").param("maxAmount", "1000"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].description", is("Miete Januar")));
+
+        txService.deleteTransactionSafe(rent.getId(), testUser.getId());
+        searchIndex.onTransactionChange(new TransactionChange.Removed(testUser.getId(), List.of(rent.getId())));
+
+        mockMvc.perform(get("/transactions/search").session(session).param("q", "miete"))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/transactions/search").session(session))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Bedingter GET über den Datenstand des Nutzers.
+     * Erwartung: Gleiches ETag -> 304 ohne Body; nach einer neuen Buchung wieder 200 mit neuem ETag.
+     */
+    @Test
+    void getTransactions_WithMatchingEtag_ShouldReturnNotModifiedUntilDataChanges() throws Exception {
+        createTx(10.0, "EXPENSE", "2025-01-01");
+
+        String etag = mockMvc.perform(get("/transactions").session(session).param("from", "2025-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/transactions").session(session).param("from", "2025-01-01")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Anderer Filter -> anderes ETag
+        mockMvc.perform(get("/transactions").session(session).param("from", "2025-02-01")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+
+        createTx(5.0, "EXPENSE", "2025-01-02");
+
+        mockMvc.perform(get("/transactions").session(session).param("from", "2025-01-01")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
+    /**
+     * Pagination-Test: Cursor-Modus.
+     * Szenario: 3 Buchungen, Seitengröße 2.
+     * Erwartung: Erste Seite liefert 2 Einträge + Cursor, die Folgeseite den Rest ohne Cursor.
+     */
+    @Test
+    void getTransactions_WithCursor_ShouldPageThroughAllRows() throws Exception {
+        createTx(10.0, "EXPENSE", "2025-01-01");
+        createTx(20.0, "EXPENSE", "2025-01-02");
+        createTx(30.0, "EXPENSE", "2025-01-03");
+
+        String body = mockMvc.perform(get("/transactions")
+                .session(session)
+                .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].date", is("2025-01-03")))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        mockMvc.perform(get("/transactions")
+                .session(session)
+                .param("limit", "2")
+                .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].date", is("2025-01-01")))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    /**
+     * Export-Test: CSV-Stream.
+     * Erwartung: Response wird asynchron gestreamt und beginnt mit der CSV-Kopfzeile.
+     */
+    @Test
+    void exportTransactions_AsCsv_ShouldStreamHeader() throws Exception {
+        var result = mockMvc.perform(get("/transactions/export")
+                .session(session)
+                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("transactions.csv")))
+                .andExpect(content().string(startsWith("id,date,type,amount,description,categoryId,categoryName")));
+    }
+
+    /**
+     * Export-Test: Unbekanntes Format.
+     * Erwartung: HTTP 400 Bad Request.
+     */
+    @Test
+    void exportTransactions_WithUnknownFormat_ShouldFail() throws Exception {
+        mockMvc.perform(get("/transactions/export")
+                .session(session)
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Sammel-Import (JSON).
+     * Szenario: 3 Zeilen, davon eine mit ungültigem Typ.
+     * Erwartung: 2 Zeilen importiert, Zeile 2 wird als Fehler gemeldet.
+     */
+    @Test
+    void importBatch_Json_ShouldImportValidRowsAndReportErrors() throws Exception {
+        Category cat = createCategory("Import", testUser);
+        String json = """
+            [
+              { "description": "A", "amount": 10, "type": "EXPENSE", "categoryId": %d, "date": "2025-03-01" },
+              { "description": "B", "amount": 20, "type": "FOO", "categoryId": %d },
+              { "description": "C", "amount": 30, "type": "income", "categoryId": %d }
+            ]
+        """.formatted(cat.getId(), cat.getId(), cat.getId());
+
+        mockMvc.perform(post("/transactions/batch")
+                .session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(3)))
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)));
+    }
+
+    /**
+     * Sammel-Import (CSV) auf eine fremde Kategorie.
+     * Erwartung: Nichts wird importiert, die Zeile wird als Fehler gemeldet.
+     */
+    @Test
+    void importBatch_CsvOnForeignCategory_ShouldReportError() throws Exception {
+        User other = userRepo.save(createUser("csv@test.de"));
+        Category foreignCat = createCategory("Fremd", other);
+        String csv = "date,description,amount,type,categoryId\n"
+                + "2025-03-01,\"Miete, März\",800,EXPENSE," + foreignCat.getId() + "\n";
+
+        mockMvc.perform(post("/transactions/batch")
+                .session(session)
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(0)))
+                .andExpect(jsonPath("$.errors[0].row", is(1)));
+    }
+
+    /**
+     * Lastschutz-Test: Zugangskontrolle vor dem Connection-Pool.
+     * Szenario: Ein Platz, keine Warteschlange; eine zweite Verbindung wird angefordert.
+     * Erwartung: Sofortige Ablehnung, nach close() ist der Platz wieder frei.
+     */
+    @Test
+    void admissionControl_WhenSaturated_ShouldRejectAndReleaseOnClose() throws Exception {
+        AdmissionControlledDataSource ds = new AdmissionControlledDataSource(dataSource, 1, 0, Duration.ofMillis(50));
+
+        Connection first = ds.getConnection();
+        assertThrows(DatabaseBusyException.class, ds::getConnection);
+
+        first.close();
+        assertEquals(1, ds.getAvailable());
+        try (Connection again = ds.getConnection()) {
+            assertFalse(again.isClosed());
+        }
+    }
+
+    /**
+     * Lastschutz-Test: Fairness der Zugangskontrolle.
+     * Szenario: Ein Platz ist belegt, ein Thread wartet in der Schlange; der Platz wird frei
+     * und sofort fordert ein neuer Aufrufer eine Verbindung an.
+     * Erwartung: Der Neue drängelt sich nicht vor (Ablehnung, Schlange voll), der Wartende bekommt den Platz.
+     */
+    @Test
+    void admissionControl_WhenPermitFreed_ShouldServeQueuedThreadFirst() throws Exception {
+        AdmissionControlledDataSource ds = new AdmissionControlledDataSource(dataSource, 1, 1, Duration.ofSeconds(5));
+
+        Connection first = ds.getConnection();
+        CompletableFuture<Connection> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ds.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (ds.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        Thread.sleep(100); // gezählt wird kurz vor dem Einreihen in die Semaphore
+
+        first.close();
+        assertThrows(DatabaseBusyException.class, ds::getConnection);
+        try (Connection next = queued.get(5, TimeUnit.SECONDS)) {
+            assertFalse(next.isClosed());
+        }
+    }
+
+    /**
+     * Routing zum Lese-Replikat (datasource.replica.enabled=true), hier mit H2 als Stand-in für beide Rollen.
+     * Erwartung: readOnly-Transaktionen gehen an das Replikat, Schreib-Transaktionen und Requests
+     * kurz nach einem Schreibzugriff derselben Session an die Primär-Datenbank.
+     */
+    @Test
+    void readWriteRouting_ShouldSendReadOnlyToReplicaUnlessRecentWrite() throws Exception {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(dataSource, dataSource);
+        assertEquals(ReadWriteRoutingDataSource.Role.PRIMARY, routing.currentRole());
+
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(Duration.ofSeconds(5));
+        MockHttpSession browser = new MockHttpSession();
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/transactions");
+        read.setSession(browser);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(read));
+        try {
+            interceptor.preHandle(read, new MockHttpServletResponse(), null);
+            assertEquals(ReadWriteRoutingDataSource.Role.REPLICA, routing.currentRole());
+
+            MockHttpServletRequest write = new MockHttpServletRequest("POST", "/transactions");
+            write.setSession(browser);
+            interceptor.preHandle(write, new MockHttpServletResponse(), null);
+
+            MockHttpServletRequest readAfterWrite = new MockHttpServletRequest("GET", "/transactions");
+            readAfterWrite.setSession(browser);
+            interceptor.preHandle(readAfterWrite, new MockHttpServletResponse(), null);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(readAfterWrite));
+            assertEquals(ReadWriteRoutingDataSource.Role.PRIMARY, routing.currentRole());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    /**
+     * Session-Speicher in der Datenbank (sessions.store=jdbc), hier direkt gegen H2.
+     * Erwartung: userId und Profil überstehen das Speichern, ein rein lesender Zugriff
+     * schreibt nichts, der Schreibzeitpunkt landet in der eigenen Spalte, abgelaufene Sessions werden blockweise gelöscht.
+     */
+    @Test
+    void jdbcSessionStore_ShouldRoundTripAndWriteOnlyOnChange() {
+        JdbcSessionRepository repo = new JdbcSessionRepository(dataSource, Duration.ofMinutes(30), Duration.ofMinutes(1), 2);
+        repo.createTable();
+
+        JdbcSessionRepository.StoredSession created = repo.createSession();
+        created.setAttribute(SessionUsers.USER_ID, testUser.getId());
+        created.setAttribute(SessionUsers.PROFILE, SessionUser.of(testUser));
+        repo.save(created);
+
+        JdbcSessionRepository.StoredSession loaded = repo.findById(created.getId());
+        assertEquals(testUser.getId(), loaded.<Long>getAttribute(SessionUsers.USER_ID));
+        assertEquals(SessionUser.of(testUser), loaded.getAttribute(SessionUsers.PROFILE));
+
+        // Lesender Request: Zugriff kurz danach, Attribute unverändert -> kein UPDATE
+        Long storedAccess = jdbc.queryForObject("SELECT last_access FROM http_sessions WHERE id = ?", Long.class, loaded.getId());
+        loaded.setLastAccessedTime(loaded.getLastAccessedTime().plusSeconds(10));
+        loaded.setAttribute(SessionUsers.USER_ID, testUser.getId());
+        repo.save(loaded);
+        assertEquals(storedAccess, jdbc.queryForObject("SELECT last_access FROM http_sessions WHERE id = ?", Long.class, loaded.getId()));
+
+        // Schreibender Request: nur die Spalte last_write, kein serialisiertes "extra"
+        loaded.setAttribute(ReadYourWritesInterceptor.LAST_WRITE, 1234L);
+        repo.save(loaded);
+        assertEquals(1234L, jdbc.queryForObject("SELECT last_write FROM http_sessions WHERE id = ?", Long.class, loaded.getId()));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM http_sessions WHERE id = ? AND extra IS NOT NULL", Integer.class, loaded.getId()));
+        assertEquals(1234L, repo.findById(loaded.getId()).<Long>getAttribute(ReadYourWritesInterceptor.LAST_WRITE));
+
+        for (int i = 0; i < 3; i++) {
+            JdbcSessionRepository.StoredSession old = repo.createSession();
+            old.setMaxInactiveInterval(Duration.ofSeconds(1));
+            old.setLastAccessedTime(Instant.now().minusSeconds(60));
+            repo.save(old);
+        }
+        assertEquals(3, repo.deleteExpired());
+        assertNotNull(repo.findById(created.getId()));
+    }
+
+    /**
+     * Index-Test: Ausführungsplan der Filter-Abfragen (H2 EXPLAIN auf das von Hibernate erzeugte SQL).
+     * Erwartung: Liste, Cursor-Seite und Löschen per Filter laufen mit User + Zeitraum über
+     * idx_transactions_user_date_id, mit Kategorie über idx_transactions_user_cat_date.
+     */
+    @Test
+    void filterQueries_ShouldUseCompositeIndexes() {
+        Long userId = testUser.getId();
+        Long catId = createCategory("Index", testUser).getId();
+        LocalDate from = LocalDate.parse("2025-01-01");
+        LocalDate to = LocalDate.parse("2025-12-31");
+
+        // Liste (GET /transactions)
+        assertPlanUses("IDX_TRANSACTIONS_USER_DATE_ID",
+                () -> txRepo.findViewsByFilter(userId, null, from, to), userId, from, to);
+        assertPlanUses("IDX_TRANSACTIONS_USER_CAT_DATE",
+                () -> txRepo.findViewsByFilter(userId, catId, from, to), userId, catId, from, to);
+
+        // Seite im Cursor-Modus (Keyset-Bedingung date/id, Limit als letzter Parameter)
+        assertPlanUses("IDX_TRANSACTIONS_USER_DATE_ID",
+                () -> txRepo.findViewPageByFilter(userId, null, from, null, to, 99L, 10),
+                userId, from, to, to, 99L, 10);
+        assertPlanUses("IDX_TRANSACTIONS_USER_CAT_DATE",
+                () -> txRepo.findViewPageByFilter(userId, catId, from, null, to, 99L, 10),
+                userId, catId, from, to, to, 99L, 10);
+
+        // Löschen per Filter (DELETE /transactions?categoryId=...&from=...)
+        assertPlanUses("IDX_TRANSACTIONS_USER_DATE_ID",
+                () -> txRepo.deleteMatching(TransactionSpecifications.forFilter(userId, null, from, to)),
+                userId, from, to);
+        assertPlanUses("IDX_TRANSACTIONS_USER_CAT_DATE",
+                () -> txRepo.deleteMatching(TransactionSpecifications.forFilter(userId, catId, from, null)),
+                userId, catId, from);
+    }
+
+    /**
+     * Führt die Abfrage aus, nimmt das zuletzt von Hibernate erzeugte SQL (SqlCapture) und prüft
+     * dessen Ausführungsplan. Die Parameter in der Reihenfolge der Platzhalter im SQL.
+     */
+    private void assertPlanUses(String index, Runnable query, Object... params) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        String sql = SqlCapture.STATEMENTS.getLast();
+        assertEquals(params.length, sql.chars().filter(ch -> ch == '?').count(), sql);
+        String plan = jdbc.queryForObject("EXPLAIN " + sql, String.class, params);
+        assertTrue(plan.toUpperCase().contains(index), sql + "\n" + plan);
+    }
+
+    /**
+     * Merkt sich das von Hibernate erzeugte SQL (eingetragen als hibernate.session_factory.statement_inspector).
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
     /**
      * Testet das Löschen einer eigenen Transaktion.
      * Erwartung: Eintrag wird aus der DB entfernt.
@@ -323,7 +1114,7 @@ public class FinanceMasterIntegrationTest {
         Transaction foreignTx = new Transaction();
         foreignTx.setUser(other);
         foreignTx.setCategory(c);
-        foreignTx.setAmount(10.0);
+        foreignTx.setAmount(BigDecimal.TEN);
         txRepo.save(foreignTx);
 
         mockMvc.perform(delete("/transactions/" + foreignTx.getId()).session(session))
@@ -332,6 +1123,72 @@ public class FinanceMasterIntegrationTest {
         assertTrue(txRepo.findById(foreignTx.getId()).isPresent());
     }
 
+    /**
+     * Bulk-Delete per ID-Liste.
+     * Szenario: Zwei eigene und eine fremde Transaktion werden zum Löschen übergeben.
+     * Erwartung: Nur die eigenen werden gelöscht, die Anzahl wird zurückgemeldet
+     * und die Zusammenfassung ist danach korrekt.
+     */
+    @Test
+    void bulkDelete_ByIds_ShouldDeleteOnlyOwnTransactions() throws Exception {
+        Transaction a = createTx(10.0, "EXPENSE", "2025-01-01");
+        Transaction b = createTx(20.0, "EXPENSE", "2025-01-02");
+        createTx(100.0, "INCOME", "2025-01-03");
+
+        User other = userRepo.save(createUser("bulk@test.de"));
+        Transaction foreignTx = new Transaction();
+        foreignTx.setUser(other);
+        foreignTx.setCategory(createCategory("X", other));
+        foreignTx.setAmount(BigDecimal.TEN);
+        txRepo.save(foreignTx);
+
+        mockMvc.perform(post("/transactions/bulk-delete")
+                .session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"ids\": [%d, %d, %d] }".formatted(a.getId(), b.getId(), foreignTx.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)));
+
+        assertTrue(txRepo.findById(foreignTx.getId()).isPresent());
+        mockMvc.perform(get("/transactions/summary/balance").session(session))
+                .andExpect(jsonPath("$.totalExpense", is(0.0)))
+                .andExpect(jsonPath("$.balance", is(100.0)));
+    }
+
+    /**
+     * Bulk-Delete per Zeitraum-Filter.
+     * Erwartung: Nur die Buchungen im Januar werden gelöscht.
+     */
+    @Test
+    void bulkDelete_ByDateRange_ShouldDeleteMatchingTransactions() throws Exception {
+        createTx(10.0, "EXPENSE", "2025-01-05");
+        createTx(20.0, "EXPENSE", "2025-01-20");
+        createTx(30.0, "EXPENSE", "2025-02-01");
+
+        mockMvc.perform(post("/transactions/bulk-delete")
+                .session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"from\": \"2025-01-01\", \"to\": \"2025-01-31\" }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", is(2)));
+
+        mockMvc.perform(get("/transactions").session(session))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    /**
+     * Bulk-Delete ohne IDs und ohne Filter.
+     * Erwartung: HTTP 400, damit nicht versehentlich alle Buchungen gelöscht werden.
+     */
+    @Test
+    void bulkDelete_WithoutIdsOrFilter_ShouldFail() throws Exception {
+        mockMvc.perform(post("/transactions/bulk-delete")
+                .session(session)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Robustheits-Test: Leere Filter-Parameter.
      * Szenario: Frontend sendet "?from=&to=".
@@ -368,14 +1225,12 @@ public class FinanceMasterIntegrationTest {
         return catRepo.save(c);
     }
 
+    /**
+     * Legt eine Buchung über den Service an, damit auch die Monatssummen mitgepflegt werden.
+     */
     private Transaction createTx(double amount, String type, String date) {
         Category c = createCategory("TestCat", testUser);
-        Transaction t = new Transaction();
-        t.setUser(testUser);
-        t.setCategory(c);
-        t.setAmount(amount);
-        t.setType(financemaster.persistence.entity.TransactionType.valueOf(type));
-        t.setDate(LocalDate.parse(date));
-        return txRepo.save(t);
+        return txService.createTransaction(testUser.getId(),
+                new TransactionDto("Test", BigDecimal.valueOf(amount), type, c.getId(), LocalDate.parse(date)));
     }
 }
\ No newline at end of file